@@ -37,6 +37,7 @@ public class FoodDeliveryDemo {
         try {
             order.placeOrder(true); // Method call with parameter
             order.processPayment(500); // Method call with parameter
+            OrderEvents.flush(); // Wait for the asynchronous event log so the output stays in order
 
             for (MenuItem item : order.getItems()) { // Enhanced for loop - Iteration over collection
                 System.out.println(item.getDetails() + " | Category: " + item.getCategory());
@@ -45,6 +46,7 @@ public class FoodDeliveryDemo {
             paneer.addRating(5, "Delicious!"); // Method call
 
         } catch (RestaurantClosedException | PaymentFailedException e) { // Multi-catch block
+            OrderEvents.flush();
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) { // Catch block for general exceptions
             System.out.println("Unexpected error: " + e.getMessage());
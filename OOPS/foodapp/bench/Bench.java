@@ -0,0 +1,162 @@
+package foodapp.bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+
+// BENCHMARK HARNESS - JMH-style warmup + measurement iterations, run on 1..N threads
+// Each benchmark is a small 'functional interface'; its result is folded into a sink so the JIT cannot
+// remove the work. Reports throughput, latency per op, bytes allocated per op and GC activity
+
+public final class Bench {
+
+    // 'functional interface' - one invocation of the code under test; threadIndex lets contended variants pick their own data
+    @FunctionalInterface
+    public interface Op {
+        Object run(int threadIndex) throws Exception;
+    }
+
+    // Immutable result of one measured benchmark
+    public static final class Result {
+        public final String name;
+        public final int threads;
+        public final long ops;
+        public final long nanos;
+        public final long allocatedBytes; // -1 when the JVM cannot measure per-thread allocation
+        public final long gcCount;
+        public final long gcMillis;
+
+        Result(String name, int threads, long ops, long nanos, long allocatedBytes, long gcCount, long gcMillis) {
+            this.name = name;
+            this.threads = threads;
+            this.ops = ops;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        public double opsPerSecond() { return ops * 1e9 / nanos; }
+        public double nanosPerOp() { return (double) nanos * threads / Math.max(1, ops); } // Average latency seen by one thread
+        public double bytesPerOp() { return allocatedBytes < 0 ? Double.NaN : (double) allocatedBytes / Math.max(1, ops); }
+
+        @Override
+        public String toString() {
+            return String.format("%-34s %3d %,14.0f %12.1f %12.1f %6d %8d",
+                    name, threads, opsPerSecond(), nanosPerOp(), bytesPerOp(), gcCount, gcMillis);
+        }
+    }
+
+    public static final String HEADER = String.format("%-34s %3s %14s %12s %12s %6s %8s",
+            "Benchmark", "Thr", "ops/s", "ns/op", "B/op", "GCs", "GC ms");
+
+    private static volatile Object sink; // Blackhole - every result is published here
+
+    private final int warmupIterations;
+    private final int measureIterations;
+    private final long iterationMillis;
+
+    // Parameterized Constructor - iteration counts and the length of each iteration
+    public Bench(int warmupIterations, int measureIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationMillis = iterationMillis;
+    }
+
+    // Method to run one benchmark: warmup iterations are discarded, measurement iterations are summed
+    public Result run(String name, int threads, Op op) throws InterruptedException {
+        for (int i = 0; i < warmupIterations; i++) iteration(threads, op);
+        long ops = 0, nanos = 0, allocated = 0, gcCount = 0, gcMillis = 0;
+        for (int i = 0; i < measureIterations; i++) {
+            long gcCountBefore = gcCount(), gcMillisBefore = gcMillis();
+            long[] r = iteration(threads, op);
+            gcCount += gcCount() - gcCountBefore;
+            gcMillis += gcMillis() - gcMillisBefore;
+            ops += r[0];
+            nanos += r[1];
+            allocated = r[2] < 0 || allocated < 0 ? -1 : allocated + r[2];
+        }
+        return new Result(name, threads, ops, nanos, allocated, gcCount, gcMillis);
+    }
+
+    // One timed iteration - all threads start together behind a barrier and stop on a shared deadline
+    private long[] iteration(int threads, Op op) throws InterruptedException {
+        long[] opsPerThread = new long[threads];
+        long[] allocPerThread = new long[threads];
+        Throwable[] failure = new Throwable[1];
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] deadline = new long[1];
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            final int index = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    long end = deadline[0];
+                    long allocBefore = allocatedBytes();
+                    long n = 0;
+                    Object last = null;
+                    do {
+                        for (int k = 0; k < 64; k++) last = op.run(index); // Batches of 64 keep nanoTime() off the profile
+                        n += 64;
+                    } while (System.nanoTime() < end);
+                    long allocAfter = allocatedBytes();
+                    sink = last;
+                    opsPerThread[index] = n;
+                    allocPerThread[index] = allocBefore < 0 ? -1 : allocAfter - allocBefore;
+                } catch (Throwable e) {
+                    synchronized (failure) { failure[0] = e; }
+                } finally {
+                    done.countDown();
+                }
+            }, "bench-" + t);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        long begin = System.nanoTime();
+        deadline[0] = begin + iterationMillis * 1_000_000L; // Published to workers by the barrier
+        try {
+            start.await();
+        } catch (java.util.concurrent.BrokenBarrierException e) {
+            throw new IllegalStateException(e);
+        }
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        if (failure[0] != null) throw new IllegalStateException("Benchmark failed", failure[0]);
+        long ops = 0, alloc = 0;
+        for (int t = 0; t < threads; t++) {
+            ops += opsPerThread[t];
+            alloc = allocPerThread[t] < 0 || alloc < 0 ? -1 : alloc + allocPerThread[t];
+        }
+        return new long[] { ops, elapsed, alloc };
+    }
+
+    // ALLOCATION PROFILER - HotSpot's per-thread allocation counter (com.sun.management extension)
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled())
+                return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    // GC PROFILER - collections and collection time summed over every collector
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) total += Math.max(0, gc.getCollectionCount());
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) total += Math.max(0, gc.getCollectionTime());
+        return total;
+    }
+}
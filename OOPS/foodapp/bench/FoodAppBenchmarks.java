@@ -0,0 +1,144 @@
+package foodapp.bench;
+
+import foodapp.exceptions.RestaurantClosedException;
+import foodapp.model.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+// BENCHMARK SUITE - hot paths of the food delivery platform, single-threaded and contended
+// Usage: java foodapp.bench.FoodAppBenchmarks [filter] [-t 1,8] [-wi 3] [-i 5] [-ms 1000]
+//   filter  run only benchmarks whose name contains this text
+//   -t      thread counts to run every benchmark with (default: 1 and all cores)
+//   -wi/-i  warmup / measurement iterations, -ms  length of one iteration in milliseconds
+
+public final class FoodAppBenchmarks {
+
+    private static final int PARTNER_POOL = 10_000; // Large pool - dispatch cost must not depend on its size
+    private static final int MENU_SIZE = 500;
+    private static final int RATINGS = 1_000_000;
+
+    private FoodAppBenchmarks() { } // Private Constructor - only main() is used
+
+    public static void main(String[] args) throws Exception {
+        String filter = "";
+        int[] threadCounts = { 1, Runtime.getRuntime().availableProcessors() };
+        int warmup = 3, measure = 5;
+        long millis = 1000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-t": threadCounts = parseInts(args[++i]); break;
+                case "-wi": warmup = Integer.parseInt(args[++i]); break;
+                case "-i": measure = Integer.parseInt(args[++i]); break;
+                case "-ms": millis = Long.parseLong(args[++i]); break;
+                default: filter = args[i];
+            }
+        }
+
+        OrderEvents.setSink(line -> { }); // Events are still formatted, just not printed
+        Fixture f = new Fixture();
+        Bench bench = new Bench(warmup, measure, millis);
+
+        List<String> names = new ArrayList<>();
+        List<Bench.Op> ops = new ArrayList<>();
+        names.add("order.new+addItem");
+        ops.add(t -> {
+            Order order = new Order(f.customer, f.restaurant);
+            order.addItem(f.paneer);
+            order.addItem(f.chicken);
+            return order;
+        });
+        names.add("order.placeOrder");
+        ops.add(t -> {
+            Order order = new Order(f.customer, f.restaurant);
+            order.addItem(f.paneer);
+            order.placeOrder(false);
+            f.app.completeOrder(order); // Hands the partner back so the pool stays the same size
+            return order;
+        });
+        names.add("app.getAvailablePartner");
+        ops.add(t -> {
+            DeliveryPartner partner = f.app.getAvailablePartner();
+            if (partner != null) f.app.releasePartner(partner);
+            return partner;
+        });
+        names.add("app.getAvailablePartner(near)");
+        ops.add(t -> {
+            DeliveryPartner partner = f.app.getAvailablePartner(f.restaurant);
+            if (partner != null) f.app.releasePartner(partner);
+            return partner;
+        });
+        names.add("admission.reject(closed)");
+        ops.add(t -> f.app.getAdmissionControl().tryAdmit(f.closedOrder)); // Status code path
+        names.add("admission.reject(rate) throw");
+        ops.add(t -> {
+            try {
+                f.app.getAdmissionControl().admit(f.throttledOrder);
+                return null;
+            } catch (RestaurantClosedException e) { // Preallocated, stackless - no stack walk per rejection
+                return e;
+            }
+        });
+        names.add("dish.getAverageRating");
+        ops.add(t -> f.rated.getAverageRating());
+        names.add("menu.getMenu scan");
+        ops.add(t -> {
+            String id = f.menuIds[ThreadLocalRandom.current().nextInt(MENU_SIZE)];
+            for (MenuItem item : f.restaurant.getMenu()) if (item.getId().equals(id)) return item;
+            return null;
+        });
+        names.add("menu.catalog findById");
+        ops.add(t -> f.app.getCatalog().findById(f.menuIds[ThreadLocalRandom.current().nextInt(MENU_SIZE)]));
+
+        System.out.println(Bench.HEADER);
+        for (int i = 0; i < names.size(); i++) {
+            if (!names.get(i).contains(filter)) continue;
+            for (int threads : threadCounts) System.out.println(bench.run(names.get(i), threads, ops.get(i)));
+        }
+        OrderEvents.flush();
+    }
+
+    private static int[] parseInts(String csv) {
+        String[] parts = csv.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) values[i] = Integer.parseInt(parts[i].trim());
+        return values;
+    }
+
+    // Shared state built once before any benchmark runs - fixed seed so every run sees the same city
+    private static final class Fixture {
+        final FoodDeliveryApp app = FoodDeliveryApp.getInstance();
+        final Restaurant restaurant = new Restaurant("Bench Kitchen", "Bandra", 19.06, 72.83);
+        final User customer = new User("Bench User", "9000000000", "Bandra", 19.07, 72.84);
+        final VegDish paneer = new VegDish("BV1", "Paneer Tikka", 249);
+        final NonVegDish chicken = new NonVegDish("BNV1", "Chicken Tikka", 329);
+        final VegDish rated = new VegDish("BV2", "Dal Makhani", 199); // Not listed - ratings do not touch the ranking
+        final String[] menuIds = new String[MENU_SIZE];
+        final Restaurant closed = new Restaurant("Bench Closed", "Bandra");
+        final Restaurant throttled = new Restaurant("Bench Throttled", "Bandra");
+        final Order closedOrder = new Order(customer, closed);
+        final Order throttledOrder = new Order(customer, throttled);
+
+        Fixture() {
+            app.registerRestaurant(restaurant);
+            restaurant.addMenuItem(paneer);
+            restaurant.addMenuItem(chicken);
+            for (int i = restaurant.getMenu().size(); i < MENU_SIZE; i++)
+                restaurant.addMenuItem(i % 2 == 0 ? new VegDish("BM" + i, "Veg " + i, 100 + i) : new NonVegDish("BM" + i, "Meat " + i, 150 + i));
+            for (int i = 0; i < MENU_SIZE; i++) menuIds[i] = restaurant.getMenu().get(i).getId();
+            app.registerRestaurant(closed);
+            closed.closeRestaurant();
+            app.registerRestaurant(throttled);
+            throttled.setOrderRateLimit(0.001, 1);
+            app.getAdmissionControl().tryAdmit(new Order(customer, throttled)); // Takes the only token - later orders are refused
+
+            Random random = new Random(42);
+            for (int i = 0; i < PARTNER_POOL; i++) { // Spread over roughly 10km x 10km around the restaurant
+                app.registerPartner(new DeliveryPartner("Rider " + i,
+                        19.06 + (random.nextDouble() - 0.5) * 0.09, 72.83 + (random.nextDouble() - 0.5) * 0.09));
+            }
+            for (int i = 0; i < RATINGS; i++) rated.addRating(1 + random.nextInt(5), null);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package foodapp.checks;
+
+// CHECK HARNESS - behaviour checks run from a plain main(), no test framework needed
+// Each check is a small 'functional interface' that throws at the first broken expectation; the harness
+// prints PASS or FAIL per check and keeps going, so one broken area never hides the others
+
+public final class Checks {
+
+    // 'functional interface' - one check; any exception (or failed expect) marks it FAIL
+    @FunctionalInterface
+    public interface Check {
+        void run() throws Exception;
+    }
+
+    private int passed;
+    private int failed;
+
+    // Method to run one check and report it on its own line
+    public void run(String name, Check check) {
+        long start = System.nanoTime();
+        try {
+            check.run();
+            passed++;
+            System.out.printf("PASS  %-34s %6d ms%n", name, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception | AssertionError e) { // Multi-catch - a failed expectation or anything the code threw
+            failed++;
+            System.out.printf("FAIL  %-34s %s%n", name, e);
+        }
+    }
+
+    // 'static' assertion helpers - independent of the JVM's -ea flag
+    public static void expect(boolean condition, String what) {
+        if (!condition) throw new AssertionError(what);
+    }
+
+    public static void expectEquals(long expected, long actual, String what) {
+        if (expected != actual) throw new AssertionError(what + ": expected " + expected + " but was " + actual);
+    }
+
+    // Getters - totals so far
+    public int getPassed() { return passed; }
+    public int getFailed() { return failed; }
+}
@@ -0,0 +1,298 @@
+package foodapp.checks;
+
+import static foodapp.checks.Checks.expect;
+import static foodapp.checks.Checks.expectEquals;
+
+import foodapp.exceptions.RestaurantClosedException;
+import foodapp.model.*;
+import foodapp.util.HierarchicalTimingWheel;
+import foodapp.util.WindowedAggregates;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// CHECK SUITE - recovery, dispatch, payment and timing behaviour, driven through the public API
+// Usage: java foodapp.checks.PlatformChecks [filter]
+//   filter  run only checks whose name contains this text
+// Every check builds its own platform region, so checks never see each other's orders; exits with 1 on any FAIL
+
+public final class PlatformChecks {
+
+    private static final long SEGMENT_BYTES = 64 * 1024; // Small journal segments - quick to scan and to damage
+    private static ShardedPlatform regions; // Source of fresh, independent platforms - created once events are muted
+    private static final AtomicInteger regionCount = new AtomicInteger();
+
+    private PlatformChecks() { } // Private Constructor - only main() is used
+
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : "";
+        OrderEvents.setSink(line -> { }); // Events are still formatted, just not printed
+        regions = new ShardedPlatform();
+
+        Map<String, Checks.Check> all = new LinkedHashMap<>(); // Insertion order is the run order
+        all.put("journal.replay", PlatformChecks::journalReplay);
+        all.put("journal.tornTail", PlatformChecks::journalTornTail);
+        all.put("snapshot.thenJournal", PlatformChecks::snapshotThenJournal);
+        all.put("dispatcher.claimRelease", PlatformChecks::dispatcherClaimRelease);
+        all.put("payment.idempotency", PlatformChecks::paymentIdempotency);
+        all.put("timingWheel.fireAndCancel", PlatformChecks::timingWheel);
+        all.put("windowedAggregates.roll", PlatformChecks::windowedAggregates);
+
+        Checks checks = new Checks();
+        for (Map.Entry<String, Checks.Check> e : all.entrySet()) {
+            if (e.getKey().contains(filter)) checks.run(e.getKey(), e.getValue());
+        }
+        regions.close();
+        System.out.println(checks.getPassed() + " passed, " + checks.getFailed() + " failed");
+        if (checks.getFailed() > 0) System.exit(1);
+    }
+
+    // Open and delivered orders survive a restart; completed ones stay completed and hold no kitchen slot
+    private static void journalReplay() throws Exception {
+        Path dir = Files.createTempDirectory("foodapp-journal");
+        FoodDeliveryApp app = freshApp();
+        Restaurant r = restaurant(app);
+        OrderJournal journal = OrderJournal.open(dir, SEGMENT_BYTES, OrderJournal.FsyncPolicy.EVERY_COMMIT, app);
+        Order open = place(r, 2);
+        Order done = place(r, 1);
+        app.completeOrder(done);
+        journal.close();
+
+        FoodDeliveryApp restarted = freshApp();
+        Restaurant again = restaurant(restarted);
+        try (OrderJournal replayed = OrderJournal.open(dir, SEGMENT_BYTES, OrderJournal.FsyncPolicy.EVERY_COMMIT, restarted)) {
+            Order back = restarted.findOrder(open.getOrderId());
+            expect(back != null, "open order restored");
+            expectEquals(open.getTotalPaise(), back.getTotalPaise(), "restored bill");
+            expect(restarted.findOrder(done.getOrderId()) == null, "completed order is not active again");
+            expect(restarted.getOrderStore().getCompleted(done.getId()) != null, "completed order is in the cold tier");
+            expectEquals(1, again.getActiveOrderCount(), "kitchen slots after replay");
+            expectEquals(0, replayed.getUnresolvedItems(), "unresolved item records");
+        }
+    }
+
+    // A damaged last record ends the journal: earlier orders replay, the torn one is dropped, new writes follow cleanly
+    private static void journalTornTail() throws Exception {
+        Path dir = Files.createTempDirectory("foodapp-journal");
+        FoodDeliveryApp app = freshApp();
+        Restaurant r = restaurant(app);
+        OrderJournal journal = OrderJournal.open(dir, SEGMENT_BYTES, OrderJournal.FsyncPolicy.EVERY_COMMIT, app);
+        Order kept = place(r, 1);
+        Order torn = place(r, 1); // Its PLACED record is the last one written
+        journal.close();
+        damageLastRecord(dir);
+
+        FoodDeliveryApp restarted = freshApp();
+        Restaurant again = restaurant(restarted);
+        Order after;
+        try (OrderJournal replayed = OrderJournal.open(dir, SEGMENT_BYTES, OrderJournal.FsyncPolicy.EVERY_COMMIT, restarted)) {
+            expectEquals(5, replayed.getRecoveredRecords(), "records before the tear"); // Two orders, minus the torn PLACED
+            expect(restarted.findOrder(kept.getOrderId()) != null, "order before the tear restored");
+            expect(restarted.findOrder(torn.getOrderId()) == null, "order whose placement was torn is not restored");
+            after = place(again, 3); // Appended where the torn record was
+        }
+
+        FoodDeliveryApp third = freshApp();
+        restaurant(third);
+        try (OrderJournal replayed = OrderJournal.open(dir, SEGMENT_BYTES, OrderJournal.FsyncPolicy.EVERY_COMMIT, third)) {
+            expectEquals(8, replayed.getRecoveredRecords(), "records after the truncation");
+            expect(third.findOrder(kept.getOrderId()) != null, "first order restored again");
+            expect(third.findOrder(after.getOrderId()) != null, "order written after the truncation restored");
+            expectEquals(2, third.getOrderStore().getActiveCount(), "active orders");
+        }
+    }
+
+    // Snapshot first, then the journal: only changes after the snapshot apply, and nothing is restored twice
+    private static void snapshotThenJournal() throws Exception {
+        Path dir = Files.createTempDirectory("foodapp-journal");
+        Path file = dir.resolve("platform.snap");
+        FoodDeliveryApp app = freshApp();
+        Restaurant r = restaurant(app);
+        OrderJournal journal = OrderJournal.open(dir, SEGMENT_BYTES, OrderJournal.FsyncPolicy.EVERY_COMMIT, app);
+        Order before = place(r, 1);
+        Order stays = place(r, 2);
+        PlatformSnapshot.write(app, file);
+        Order later = place(r, 1);
+        app.completeOrder(before); // Completed after the snapshot - only the journal knows
+        journal.close();
+
+        FoodDeliveryApp restarted = freshApp();
+        PlatformSnapshot snapshot = PlatformSnapshot.load(file, restarted);
+        try (OrderJournal replayed = OrderJournal.open(dir, SEGMENT_BYTES, OrderJournal.FsyncPolicy.EVERY_COMMIT, restarted)) {
+            expectEquals(2, snapshot.getOrderCount(), "orders in the snapshot");
+            expect(replayed.getRecoveredRecords() > 0, "journal replayed over the snapshot");
+            expect(restarted.findOrder(before.getOrderId()) == null, "order completed after the snapshot is not active");
+            Order back = restarted.findOrder(stays.getOrderId());
+            expect(back != null && back.getTotalPaise() == stays.getTotalPaise(), "snapshot order restored with its bill");
+            expect(restarted.findOrder(later.getOrderId()) != null, "order placed after the snapshot replayed");
+            expectEquals(2, restarted.getOrderStore().getActiveCount(), "active orders");
+            expectEquals(2, restarted.getRestaurants().get(0).getActiveOrderCount(), "kitchen slots");
+        }
+    }
+
+    // Lock-free pool - a partner is never held by two claimers at once, and every release returns it exactly once
+    private static void dispatcherClaimRelease() throws Exception {
+        PartnerDispatcher pool = new PartnerDispatcher();
+        List<DeliveryPartner> partners = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            DeliveryPartner p = new DeliveryPartner("Partner " + i);
+            partners.add(p);
+            pool.register(p);
+        }
+        Set<DeliveryPartner> held = ConcurrentHashMap.newKeySet();
+        AtomicInteger doubleClaims = new AtomicInteger();
+        Thread[] workers = new Thread[8];
+        for (int t = 0; t < workers.length; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    DeliveryPartner p = pool.claim();
+                    if (p == null) continue; // Every partner is busy right now
+                    if (!held.add(p)) doubleClaims.incrementAndGet();
+                    held.remove(p); // Before the release - the next claimer may get it immediately
+                    pool.release(p);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread w : workers) w.join();
+
+        expectEquals(0, doubleClaims.get(), "partners claimed twice");
+        expectEquals(partners.size(), pool.getFreeCount(), "partners back in the pool");
+        for (DeliveryPartner p : partners) expect(p.isAvailable(), p.getName() + " available");
+        for (int i = 0; i < partners.size(); i++) expect(pool.claim() != null, "claim " + i + " of " + partners.size());
+        expect(pool.claim() == null, "empty pool returns null");
+    }
+
+    // A retry with the same key is the same payment; a reused key with a different amount is refused
+    private static void paymentIdempotency() throws Exception {
+        FoodDeliveryApp app = freshApp();
+        Restaurant r = restaurant(app);
+        Order order = place(r, 2);
+        double bill = order.getTotalPaise() / 100.0;
+
+        CompletableFuture<PaymentResult> first = order.processPaymentAsync(bill);
+        CompletableFuture<PaymentResult> retry = order.processPaymentAsync(bill);
+        expect(first == retry, "retry while pending returns the first attempt");
+        expect(first.get(5, TimeUnit.SECONDS).getStatus() == PaymentResult.Status.SUCCEEDED, "payment succeeded");
+        expect(order.processPaymentAsync(bill) == first, "retry after success returns the first attempt");
+        expect(order.processPaymentAsync(bill + 1).isCompletedExceptionally(), "same key, different amount refused");
+        expectEquals(order.getTotalPaise(), Math.round(app.getAnalytics().getRevenue(r, 1) * 100), "revenue booked once");
+
+        Order second = place(r, 1);
+        double secondBill = second.getTotalPaise() / 100.0;
+        PaymentResult shortPaid = second.processPaymentAsync(1.0, "retry-key").get(5, TimeUnit.SECONDS);
+        expect(shortPaid.getStatus() == PaymentResult.Status.INSUFFICIENT_AMOUNT, "short payment rejected");
+        PaymentResult corrected = second.processPaymentAsync(secondBill, "retry-key").get(5, TimeUnit.SECONDS);
+        expect(corrected.getStatus() == PaymentResult.Status.SUCCEEDED, "corrected retry charged");
+
+        app.getPaymentEngine().close();
+        expect(second.processPaymentAsync(secondBill, "after-close").isCompletedExceptionally(), "closed engine refuses");
+    }
+
+    // Timers fire in deadline order and never early, including one beyond the first wheel; cancelled ones never fire
+    private static void timingWheel() throws Exception {
+        try (HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1)) { // 1ms tick - level 0 covers 256ms
+            long start = System.currentTimeMillis();
+            Queue<String> fired = new ConcurrentLinkedQueue<>();
+            Map<String, Long> firedAfter = new ConcurrentHashMap<>();
+            CountDownLatch done = new CountDownLatch(2);
+            wheel.schedule(() -> {
+                fired.add("far");
+                firedAfter.put("far", System.currentTimeMillis() - start);
+                done.countDown();
+            }, 400, TimeUnit.MILLISECONDS); // Cascades down from level 1
+            wheel.schedule(() -> {
+                fired.add("near");
+                firedAfter.put("near", System.currentTimeMillis() - start);
+                done.countDown();
+            }, 20, TimeUnit.MILLISECONDS);
+            HierarchicalTimingWheel.Timeout cancelled = wheel.schedule(() -> fired.add("cancelled"), 50, TimeUnit.MILLISECONDS);
+            cancelled.cancel();
+
+            expect(done.await(5, TimeUnit.SECONDS), "both timers fired");
+            expect(new ArrayList<>(fired).equals(Arrays.asList("near", "far")), "fired in deadline order: " + fired);
+            expect(firedAfter.get("near") >= 20, "near timer not early");
+            expect(firedAfter.get("far") >= 400, "far timer not early");
+            expectEquals(0, wheel.getPendingCount(), "pending timers");
+        }
+    }
+
+    // Buckets sum per window, a reused bucket starts from zero, and events older than the ring are dropped
+    private static void windowedAggregates() {
+        WindowedAggregates w = new WindowedAggregates(4, 1000); // Four one-second buckets
+        w.add(0, 0, 1, 100);
+        w.add(0, 500, 1, 50);
+        w.add(0, 1500, 1, 10);
+        w.add(0, 3999, 2, 5);
+        expectEquals(5, w.sumCount(0, 3999, 4), "count over the ring");
+        expectEquals(165, w.sumAmount(0, 3999, 4), "amount over the ring");
+        expectEquals(2, w.sumCount(0, 3999, 1), "count in the current bucket");
+        expect(Arrays.equals(new long[] { 150, 10, 0, 5 }, w.amountSeries(0, 3999, 4)), "series oldest first");
+
+        w.add(0, 4200, 1, 7); // Lands on the bucket of second 0 - rolled, not added to
+        expectEquals(22, w.sumAmount(0, 4200, 4), "amount after the roll");
+        expectEquals(4, w.sumCount(0, 4200, 4), "count after the roll");
+        w.add(0, 100, 1, 1000); // Second 0 has left the ring
+        expectEquals(22, w.sumAmount(0, 4200, 4), "late event dropped");
+        w.add(0, 4200, -1, 0); // A cancelled order takes its count back
+        expectEquals(3, w.sumCount(0, 4200, 4), "count after a negative add");
+
+        w.add(100, 4200, 3, 9); // A key in another block
+        expectEquals(3, w.sumCount(100, 4200, 4), "second key counted");
+        expectEquals(3, w.sumCount(0, 4200, 4), "first key unaffected");
+    }
+
+    // Flips the last non-zero byte of the newest segment - a write torn by a crash
+    private static void damageLastRecord(Path dir) throws Exception {
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(p -> p.getFileName().toString().startsWith("journal-")).sorted()
+                    .reduce((a, b) -> b).orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(segment);
+        int last = bytes.length - 1;
+        while (last >= 0 && bytes[last] == 0) last--;
+        expect(last >= 0, "journal segment has records");
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[] { (byte) (bytes[last] ^ 0x5A) }), last);
+        }
+    }
+
+    private static FoodDeliveryApp freshApp() {
+        return regions.addRegion("checks-" + regionCount.incrementAndGet(), 0, 0, 0);
+    }
+
+    // Same restaurant and dish on every platform, so journals and snapshots resolve on a fresh one
+    private static Restaurant restaurant(FoodDeliveryApp app) {
+        Restaurant r = new Restaurant("Spice Villa", "MG Road");
+        app.registerRestaurant(r);
+        r.addMenuItem(new VegDish("chk-v1", "Paneer Butter Masala", 299));
+        return r;
+    }
+
+    // Same steps as the demo - the customer records the order, then it is placed
+    private static Order place(Restaurant r, int quantity) throws RestaurantClosedException {
+        User customer = new User("Asha", "9876543210", "MG Road");
+        Order order = new Order(customer, r);
+        order.addItem(r.getMenu().get(0), quantity);
+        customer.placeOrder(order);
+        order.placeOrder();
+        return order;
+    }
+}
@@ -6,4 +6,9 @@ public class RestaurantClosedException extends Exception { // 'extends' keyword
     public RestaurantClosedException(String message) {
         super(message); // 'super' keyword calls superclass constructor
     }
+
+    // Overloaded Constructor - writableStackTrace false skips the stack walk, for instances created once and thrown many times
+    public RestaurantClosedException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace); // Suppression disabled too - a shared instance must stay immutable
+    }
 }
@@ -0,0 +1,11 @@
+package foodapp.exceptions;
+
+// CUSTOM EXCEPTION - Restaurant is open but cannot take another order right now (rate or kitchen limit)
+// A subclass of RestaurantClosedException, so existing 'catch' blocks keep working. Thrown as a shared,
+// preallocated instance without a stack trace - rejecting a flash crowd must stay cheap
+
+public class RestaurantOverloadedException extends RestaurantClosedException { // Inheritance from a custom exception
+    public RestaurantOverloadedException(String message) {
+        super(message, false); // No stack trace - the same instance is thrown for every rejection
+    }
+}
@@ -0,0 +1,18 @@
+package foodapp.interfaces;
+
+// INTERFACE - Pluggable strategy for generating unique ids (Strategy Pattern)
+
+public interface IdGenerator { // 'interface' keyword defines a contract for classes to implement
+    long nextId(); // Abstract method - returns a new unique id
+    long firstIdAt(long epochMillis); // Abstract method - smallest id that can be issued at the given time, used for range scans
+
+    // Default method - implementing classes may override it with a more compact encoding
+    default String format(long id) {
+        return Long.toString(id);
+    }
+
+    // Default method - inverse of format(); implementations overriding format() must override this too
+    default long parse(String text) {
+        return Long.parseLong(text);
+    }
+}
@@ -5,4 +5,7 @@ package foodapp.interfaces;
 public interface Rateable { // 'interface' keyword defines a contract for classes to implement
     void addRating(int stars, String review); // Abstract method - no implementation, must be implemented by implementing classes
     double getAverageRating(); // Abstract method - no implementation, must be implemented by implementing classes
+    long getRatingCount(); // Abstract method - total number of ratings received
+    long[] getRatingDistribution(); // Abstract method - number of 1..5 star ratings (index 0 = 1 star)
+    int getRatingPercentile(double percent); // Abstract method - star value at the given percentile
 }
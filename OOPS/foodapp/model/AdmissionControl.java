@@ -0,0 +1,52 @@
+package foodapp.model;
+
+import foodapp.exceptions.RestaurantClosedException;
+import java.util.concurrent.atomic.LongAdder;
+
+// ADMISSION CONTROL - decides, before any work is done, whether a restaurant can take another order
+// Three checks, cheapest first: is it open, is there room in the kitchen (bounded active orders),
+// and is it within its order rate (token bucket). All are lock-free and allocation-free; a rejection
+// is reported as a status code, or as the restaurant's preallocated stackless exception
+
+public class AdmissionControl {
+
+    // 'enum' - outcome of an admission check
+    public enum Decision { ADMITTED, CLOSED, KITCHEN_FULL, RATE_LIMITED }
+
+    private static final Decision[] DECISIONS = Decision.values();
+    private final LongAdder[] counts = new LongAdder[DECISIONS.length]; // One counter per decision
+
+    // Package-private Constructor - one per FoodDeliveryApp
+    AdmissionControl() {
+        for (int i = 0; i < counts.length; i++) counts[i] = new LongAdder();
+    }
+
+    // Method to admit an order - on ADMITTED the order holds a kitchen slot until it is completed
+    public Decision tryAdmit(Order order) {
+        Decision decision = decide(order);
+        counts[decision.ordinal()].increment();
+        return decision;
+    }
+
+    // Overloaded flavour for callers that use exceptions - throws a shared instance, no stack walk
+    public void admit(Order order) throws RestaurantClosedException {
+        Decision decision = tryAdmit(order);
+        if (decision != Decision.ADMITTED) throw order.getRestaurant().rejection(decision);
+    }
+
+    // Getter - how often each decision was taken
+    public long getCount(Decision decision) { return counts[decision.ordinal()].sum(); }
+
+    private static Decision decide(Order order) {
+        Restaurant r = order.getRestaurant();
+        if (!r.isOpen()) return Decision.CLOSED;
+        if (order.holdsKitchenSlot()) return Decision.ADMITTED; // Re-submitted - already counted
+        if (!r.tryOpenOrder()) return Decision.KITCHEN_FULL;
+        if (!r.tryTakeOrderToken()) {
+            r.orderClosed(); // Give the kitchen slot back
+            return Decision.RATE_LIMITED;
+        }
+        order.setKitchenSlot(true);
+        return Decision.ADMITTED;
+    }
+}
@@ -0,0 +1,168 @@
+package foodapp.model;
+
+import foodapp.exceptions.RestaurantClosedException;
+import foodapp.util.EventType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// ORDER POOLING - New orders wait for a short window; then orders from the same restaurant whose customers
+// live close together are grouped and handed to ONE partner, so a partner carries several orders per trip
+// Each round has a time budget: orders not grouped in time simply wait for the next round
+
+public class BatchingDispatcher implements AutoCloseable {
+
+    private final FoodDeliveryApp app;
+    private final int maxOrdersPerPartner;
+    private final double routeRadiusKm; // Customers within this distance of the first customer share a trip
+    private final long budgetNanos; // Time allowed for forming batches in one round
+    private final long maxWaitMillis; // After this, an order that found no partner is given up
+    private final Queue<Pending> waiting = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService ticker;
+
+    // Default Constructor values - 2s window, up to 3 orders per partner within 2km, 5ms budget per round
+    public BatchingDispatcher(FoodDeliveryApp app) {
+        this(app, 2000, 3, 2.0, 5, 60_000);
+    }
+
+    // Parameterized Constructor - Initialization and start of the batching rounds
+    public BatchingDispatcher(FoodDeliveryApp app, long windowMillis, int maxOrdersPerPartner,
+                              double routeRadiusKm, long budgetMillis, long maxWaitMillis) {
+        this.app = app;
+        this.maxOrdersPerPartner = maxOrdersPerPartner;
+        this.routeRadiusKm = routeRadiusKm;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.maxWaitMillis = maxWaitMillis;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread t = new Thread(task, "batching-dispatcher");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleWithFixedDelay(this::round, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Method to place an order through the pool - priority orders skip the window and get their own partner
+    // The future completes with the partner carrying the order, or null if none became free in time
+    public CompletableFuture<DeliveryPartner> submit(Order order, boolean isPriority) throws RestaurantClosedException {
+        long start = System.nanoTime();
+        order.admit(app);
+        User customer = order.getCustomer(); // Recorded like any other placement - order store and customer history
+        if (customer != null) customer.placeOrder(order, app);
+        else app.addOrder(order);
+        if (isPriority) return CompletableFuture.completedFuture(order.dispatch(app, true, start));
+        order.markPlaced(app, false);
+        Pending pending = new Pending(order);
+        waiting.add(pending);
+        return pending.partner;
+    }
+
+    // Getter - orders waiting for the next round
+    public int getWaitingCount() { return waiting.size(); }
+
+    @Override
+    public void close() {
+        ticker.shutdown();
+        try {
+            ticker.awaitTermination(1, TimeUnit.SECONDS); // Let a running round finish
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Pending p;
+        while ((p = waiting.poll()) != null) giveUp(p); // Nothing will batch them any more
+    }
+
+    // Ticker task - an exception would cancel every later round, so each round is isolated
+    private void round() {
+        List<Pending> drained = new ArrayList<>();
+        Pending p;
+        while ((p = waiting.poll()) != null) drained.add(p);
+        try {
+            formBatches(drained);
+        } catch (RuntimeException e) {
+            int retried = 0;
+            for (Pending d : drained) {
+                if (!d.partner.isDone() && waiting.add(d)) retried++; // Retried in the next round
+            }
+            OrderEvents.log(EventType.BATCHING_ROUND_FAILED, 0, retried);
+        }
+    }
+
+    // ROUND - group by restaurant, then split each restaurant's orders into nearby clusters
+    private void formBatches(List<Pending> drained) {
+        long deadline = System.nanoTime() + budgetNanos;
+        Map<Restaurant, List<Pending>> byRestaurant = new HashMap<>();
+        List<Pending> carryOver = new ArrayList<>();
+        for (Pending p : drained) {
+            byRestaurant.computeIfAbsent(p.order.getRestaurant(), r -> new ArrayList<>()).add(p);
+        }
+
+        for (Map.Entry<Restaurant, List<Pending>> entry : byRestaurant.entrySet()) {
+            List<Pending> orders = entry.getValue();
+            if (System.nanoTime() > deadline) { // Budget spent - the rest waits for the next round
+                carryOver.addAll(orders);
+                continue;
+            }
+            while (!orders.isEmpty()) {
+                List<Pending> batch = takeCluster(orders);
+                DeliveryPartner partner = app.getAvailablePartner(entry.getKey());
+                if (partner == null) {
+                    carryOver.addAll(batch);
+                    carryOver.addAll(orders);
+                    break;
+                }
+                for (Pending b : batch) {
+                    b.order.assignPartner(app, partner);
+                    b.partner.complete(partner);
+                }
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        for (Pending c : carryOver) {
+            if (now - c.since > maxWaitMillis) giveUp(c); // Waited too long
+            else waiting.add(c);
+        }
+    }
+
+    // An order that will never get a partner from the pool - cancelled, so its kitchen slot goes back to the restaurant
+    private void giveUp(Pending p) {
+        app.cancelOrder(p.order);
+        p.partner.complete(null);
+    }
+
+    // Greedy clustering - the oldest order seeds the batch, nearby customers join it up to the capacity
+    private List<Pending> takeCluster(List<Pending> orders) {
+        List<Pending> batch = new ArrayList<>(maxOrdersPerPartner);
+        Pending seed = orders.remove(0);
+        batch.add(seed);
+        GeoPoint origin = location(seed);
+        for (int i = 0; i < orders.size() && batch.size() < maxOrdersPerPartner; ) {
+            GeoPoint other = location(orders.get(i));
+            boolean near = origin == null || other == null || origin.distanceKm(other) <= routeRadiusKm; // Unknown location: same restaurant is enough
+            if (near) batch.add(orders.remove(i));
+            else i++;
+        }
+        return batch;
+    }
+
+    private static GeoPoint location(Pending p) {
+        User customer = p.order.getCustomer();
+        return customer == null ? null : customer.getLocation();
+    }
+
+    // 'static' nested class - an order waiting for a batch
+    private static final class Pending {
+        final Order order;
+        final long since = System.currentTimeMillis();
+        final CompletableFuture<DeliveryPartner> partner = new CompletableFuture<>();
+
+        Pending(Order order) { this.order = order; }
+    }
+}
@@ -0,0 +1,44 @@
+package foodapp.model;
+
+// FLYWEIGHT PATTERN - A read-only window onto one completed order in the off-heap cold tier
+// The same instance is moved from row to row, so scanning history allocates nothing per order
+
+public final class CompletedOrderView {
+
+    private final OrderStore store;
+    private OrderStore.Segment segment;
+    private int row;
+
+    // Package-private Constructor - views are handed out by OrderStore.forEachCompleted
+    CompletedOrderView(OrderStore store) {
+        this.store = store;
+    }
+
+    void moveTo(OrderStore.Segment segment, int row) {
+        this.segment = segment;
+        this.row = row;
+    }
+
+    // Getters - each one reads a single column of the current row
+    public long getId() { return segment.ids.getLong(row * 8); }
+    public String getOrderId() { return "ORD" + Order.getIdGenerator().format(getId()); }
+    public long getCreatedAtMillis() { return segment.createdAt.getLong(row * 8); }
+    public long getTotalPaise() { return segment.totalPaise.getLong(row * 8); }
+    public long getPaidPaise() { return segment.paidPaise.getLong(row * 8); }
+    public double getTotalAmount() { return getTotalPaise() / 100.0; }
+    public Restaurant getRestaurant() { return store.restaurant(segment.refs.getInt(row * 12)); }
+    public User getCustomer() { return store.customer(segment.refs.getInt(row * 12 + 4)); }
+    public DeliveryPartner getDeliveryPartner() { return store.partner(segment.refs.getInt(row * 12 + 8)); }
+    public int getLineCount() { return segment.lineRange.getInt(row * 8 + 4); }
+    public MenuItem getLineItem(int line) { return store.item(segment.lines.getInt(lineOffset(line))); }
+    public int getLineQuantity(int line) { return segment.lines.getInt(lineOffset(line) + 4); }
+    public long getLineUnitPaise(int line) { return segment.lines.getLong(lineOffset(line) + 8); }
+
+    private int lineOffset(int line) {
+        if (line < 0 || line >= getLineCount()) throw new IndexOutOfBoundsException("Line " + line);
+        return (segment.lineRange.getInt(row * 8) + line) * OrderStore.LINE_BYTES;
+    }
+
+    @Override
+    public String toString() { return getOrderId() + " (completed) Total: " + getTotalAmount(); }
+}
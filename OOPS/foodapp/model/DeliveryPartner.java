@@ -1,7 +1,10 @@
 package foodapp.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 // AGGREGATION (HAS-A Relationship)
 
@@ -9,27 +12,95 @@ public class DeliveryPartner {
 
     // Private Attributes for encapsulation to prevent direct access - 'private' access modifier
     private String name; // DeliveryPartner HAS-A name
-    private boolean isAvailable = true; // DeliveryPartner HAS-A availability status - Default initialization
-    private List<Order> assignedOrders = new ArrayList<>(); // Aggregation of Orders - Instantiation using 'new' keyword
+    private volatile GeoPoint location; // DeliveryPartner HAS-A current location - 'volatile' so moves are visible to other threads
+    private FoodDeliveryApp platform; // Platform the partner is registered with (set on registration)
+    private final AtomicReference<PartnerState> state = new AtomicReference<>(PartnerState.AVAILABLE); // DeliveryPartner HAS-A lifecycle state - every transition is a compare-and-set
+    private final AtomicBoolean inPool = new AtomicBoolean(false); // Whether the partner is queued in the PartnerDispatcher
+    private List<Order> assignedOrders = Collections.synchronizedList(new ArrayList<>()); // Aggregation of Orders - Thread-safe wrapper
 
     // Parameterized Constructor - Initialization of DeliveryPartner object
     public DeliveryPartner(String name) {
         this.name = name; // 'this' keyword refers to current instance
     }
 
+    // Overloaded Constructor - DeliveryPartner with a starting location
+    public DeliveryPartner(String name, double latitude, double longitude) {
+        this(name); // Constructor Chaining
+        this.location = new GeoPoint(latitude, longitude);
+    }
+
     // Getter (Encapsulation) - 'public' method to access 'private' field
     public boolean isAvailable() {
-        return isAvailable;
+        return state.get() == PartnerState.AVAILABLE;
+    }
+
+    // Getter (Encapsulation)
+    public PartnerState getState() {
+        return state.get();
     }
 
     // Method to assign order to delivery partner - Association
     public void assignOrder(Order order) {
         assignedOrders.add(order);
-        isAvailable = false;
+        state.compareAndSet(PartnerState.AVAILABLE, PartnerState.ASSIGNED); // No-op if already claimed
+    }
+
+    // Method to report that the food was collected from the restaurant
+    public boolean pickUp() {
+        return platform != null && platform.getPartnerLifecycle().pickedUp(this);
+    }
+
+    // Method to report that an order reached the customer - the partner becomes available after the last one
+    public boolean deliver(Order order) {
+        return platform != null && platform.getPartnerLifecycle().delivered(this, order);
+    }
+
+    // Getter - snapshot of the orders the partner is carrying
+    public List<Order> getAssignedOrders() {
+        synchronized (assignedOrders) {
+            return new ArrayList<>(assignedOrders);
+        }
     }
 
     // Getter (Encapsulation) - 'public' method to access 'private' field
     public String getName() {
         return name;
     }
-}
\ No newline at end of file
+
+    // Method to move the partner - the platform's spatial index is updated incrementally
+    public void moveTo(double latitude, double longitude) {
+        location = new GeoPoint(latitude, longitude);
+        if (platform != null) platform.onPartnerMoved(this);
+    }
+
+    // Getter (Encapsulation)
+    public GeoPoint getLocation() {
+        return location;
+    }
+
+    // Package-private helpers used by FoodDeliveryApp and PartnerDispatcher (no modifier = same package only)
+    boolean finishOrder(Order order) { // Returns true when the partner has no orders left
+        synchronized (assignedOrders) { // Lock the synchronized list for the compound remove + isEmpty
+            assignedOrders.remove(order);
+            return assignedOrders.isEmpty();
+        }
+    }
+    boolean hasOrder(Order order) { return assignedOrders.contains(order); }
+    // ASSIGNED -> PICKED_UP under the list lock, so a pickup timeout sees the orders either before or after the pickup
+    List<Order> collectOrders() { // Returns null if the partner was not ASSIGNED or has nothing to collect
+        synchronized (assignedOrders) {
+            if (assignedOrders.isEmpty() || !state.compareAndSet(PartnerState.ASSIGNED, PartnerState.PICKED_UP)) return null;
+            return new ArrayList<>(assignedOrders);
+        }
+    }
+    boolean dropUncollected(Order order) { // Pickup timeout - removes the order only while it has not been collected
+        synchronized (assignedOrders) {
+            return state.get() == PartnerState.ASSIGNED && assignedOrders.remove(order);
+        }
+    }
+    void setPlatform(FoodDeliveryApp platform) { this.platform = platform; }
+    boolean tryClaim() { return state.compareAndSet(PartnerState.AVAILABLE, PartnerState.ASSIGNED); }
+    boolean markAvailable(PartnerState from) { return state.compareAndSet(from, PartnerState.AVAILABLE); }
+    boolean enterPool() { return inPool.compareAndSet(false, true); }
+    void leavePool() { inPool.set(false); }
+}
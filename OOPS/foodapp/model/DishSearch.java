@@ -0,0 +1,553 @@
+package foodapp.model;
+
+import foodapp.interfaces.Rateable;
+import foodapp.model.MenuCatalog.Listing;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// SEARCH INDEX - dish-name autocomplete and typo-tolerant search over the whole MenuCatalog
+// 1. A compressed prefix trie (radix tree) over every word-start of every distinct dish name, so "butt"
+//    finds "Paneer Butter Masala". Nodes with a large subtree keep their best dishes (rating, then price)
+//    ranked as dishes are added, rated and repriced, so a keystroke reads a ready answer instead of
+//    visiting the subtree; small subtrees are simply scanned. The ranking runs deeper than any answer, so
+//    dishes that drop out of it are replaced from the buffer and the subtree is only re-ranked once it runs low.
+// 2. A trigram index over the vocabulary of words, used to correct misspelt words ("panner" -> "paneer")
+//    before the trie lookup; the vocabulary is far smaller than the catalog, so correction stays cheap.
+// Updated incrementally by MenuCatalog.index. Inserts are serialized; ratings only take the shared side of the
+// lock and swap a node's ranking with compare-and-set, so they run in parallel. Readers never lock - trie
+// nodes and posting arrays are replaced copy-on-write and published through 'volatile' fields
+
+public class DishSearch {
+
+    private static final int CACHED_RESULTS = 32; // Best dishes a ranked trie node can answer with (max 'limit')
+    private static final int RANKED_DEPTH = 4 * CACHED_RESULTS; // Dishes actually ranked per node - the spare ones absorb drop-outs
+    private static final int SCAN_LIMIT = 256; // Subtrees with at most this many listings are scanned per query
+    private static final int MAX_ALTERNATIVES = 3; // Spellings tried per misspelt word
+    private static final int MAX_PHRASES = 9; // Corrected phrases followed at once
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final NameEntry[] NO_NAMES = new NameEntry[0];
+
+    private final Node root = new Node("");
+    private final ReadWriteLock structure = new ReentrantReadWriteLock(); // Write - inserts; read - rescores
+    private final Map<String, NameEntry> names = new HashMap<>(); // Normalized name -> entry (changed under the write lock)
+    private final Map<String, Integer> wordIds = new ConcurrentHashMap<>(); // Vocabulary word -> id
+    private final Map<String, int[]> trigrams = new ConcurrentHashMap<>(); // Trigram -> ids of words containing it
+    private volatile String[] words = new String[64]; // Word id -> word
+    private volatile int wordCount; // Published after the word is stored
+
+    // Package-private - called by MenuCatalog.index for every listed dish
+    void add(Listing listing) {
+        String name = normalize(listing.getItem().getName());
+        if (name.isEmpty()) return;
+        structure.writeLock().lock();
+        try {
+            add(listing, name);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+
+    private void add(Listing listing, String name) {
+        NameEntry entry = names.get(name);
+        boolean isNew = entry == null;
+        if (isNew) {
+            entry = new NameEntry(name);
+            names.put(name, entry);
+            for (String word : name.split(" ")) addWord(word);
+        }
+        entry.listings = append(entry.listings, listing);
+        double rating = ratingOf(listing), price = listing.getItem().getPrice();
+        for (int start = 0; start >= 0; start = nextWordStart(name, start)) {
+            insert(name, start, entry, listing, isNew, rating, price); // Every word-start is a key: "butter masala", "masala"...
+        }
+    }
+
+    // Package-private - a listed dish was rated or repriced; moves it within every ranking on its paths
+    void rescore(Listing listing) {
+        String name = normalize(listing.getItem().getName());
+        structure.readLock().lock(); // Shared - only inserts change the trie's shape
+        try {
+            if (!names.containsKey(name)) return;
+            for (int start = 0; start >= 0; start = nextWordStart(name, start)) {
+                Node node = root;
+                int i = start;
+                while (node != null) {
+                    rescore(node, listing);
+                    if (i == name.length()) break;
+                    node = node.child(name.charAt(i));
+                    if (node != null) i += node.label.length();
+                }
+            }
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+
+    // Compare-and-set loop - a concurrent rating of another dish makes this one retry on the new ranking.
+    // The score is read after the ranking, so the last ranking published holds the latest score.
+    // A dish that falls below the ranking leaves it; the subtree is only scanned again once fewer than
+    // CACHED_RESULTS ranked dishes are left, i.e. after roughly RANKED_DEPTH - CACHED_RESULTS drop-outs
+    private static void rescore(Node node, Listing listing) {
+        while (true) {
+            Top top = node.top;
+            if (top == null) return; // Small subtree - scanned per query, nothing cached
+            double rating = ratingOf(listing), price = listing.getItem().getPrice();
+            int at = top.indexOf(listing);
+            Top updated;
+            if (at < 0) {
+                updated = top.with(listing, rating, price); // Unchanged unless it now makes the ranking
+            } else {
+                updated = top.without(at).with(listing, rating, price); // Dropped if it fell below the ranked minimum
+                if (!updated.complete && updated.listings.length < CACHED_RESULTS)
+                    updated = rank(node); // Buffer ran out - a dish outside the ranking may belong in an answer now
+            }
+            if (updated == top || node.casTop(top, updated)) return;
+        }
+    }
+
+    // Method to complete a partly typed dish name - best dishes first, at most 'limit' (up to 32)
+    public List<Listing> autocomplete(String prefix, int limit) {
+        Node node = find(normalize(prefix));
+        return node == null ? new ArrayList<>() : best(node, Math.min(limit, CACHED_RESULTS));
+    }
+
+    // Method to search with typos - every word but the last is matched as a whole word (corrected if
+    // unknown), the last one as a prefix (corrected only if nothing starts with it). Fewer corrections rank first
+    public List<Listing> search(String query, int limit) {
+        String[] tokens = normalize(query).split(" ");
+        if (tokens[0].isEmpty()) return new ArrayList<>();
+        List<Phrase> phrases = List.of(new Phrase("", 0));
+        for (int t = 0; t < tokens.length; t++) {
+            boolean known = wordIds.containsKey(tokens[t]), last = t == tokens.length - 1;
+            List<Phrase> next = new ArrayList<>();
+            if (known || last) extend(phrases, List.of(new Phrase(tokens[t], 0)), next); // The last word may be unfinished
+            if (!known && next.isEmpty()) extend(phrases, corrections(tokens[t]), next);
+            if (next.isEmpty()) return new ArrayList<>(); // No indexed name continues this way
+            phrases = next;
+        }
+
+        List<Phrase> byEdits = new ArrayList<>(phrases);
+        byEdits.sort((a, b) -> Integer.compare(a.edits, b.edits)); // Stable - exact spellings first
+        List<Listing> results = new ArrayList<>();
+        Set<Listing> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Phrase phrase : byEdits) {
+            for (Listing l : best(find(phrase.text), CACHED_RESULTS)) {
+                if (results.size() == limit) return results;
+                if (seen.add(l)) results.add(l);
+            }
+        }
+        return results;
+    }
+
+    // Only phrases that are the start of some indexed key survive - dead ends are dropped word by word
+    private void extend(List<Phrase> phrases, List<Phrase> spellings, List<Phrase> next) {
+        for (Phrase p : phrases) {
+            for (Phrase s : spellings) {
+                String text = p.text.isEmpty() ? s.text : p.text + " " + s.text;
+                if (next.size() < MAX_PHRASES && find(text) != null) next.add(new Phrase(text, p.edits + s.edits));
+            }
+        }
+    }
+
+    // Getters - index size
+    public int getNameCount() {
+        structure.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    public int getVocabularySize() { return wordCount; }
+
+    // TRIE INSERT - walks the key from 'start', splitting a compressed edge where the key leaves it;
+    // every node on the way counts the listing and ranks it, once its subtree is big enough to be ranked
+    private void insert(String name, int start, NameEntry entry, Listing listing, boolean isNew, double rating, double price) {
+        Node node = root;
+        int i = start;
+        while (true) {
+            node.listings++;
+            if (node.top != null) node.top = node.top.with(listing, rating, price);
+            else if (node.listings > SCAN_LIMIT) node.top = rank(node).with(listing, rating, price); // New name may not be linked yet
+            if (i == name.length()) {
+                if (isNew && !contains(node.names, entry)) node.names = append(node.names, entry);
+                return;
+            }
+            Node child = node.child(name.charAt(i));
+            if (child == null) {
+                Node leaf = new Node(name.substring(i));
+                leaf.names = new NameEntry[] { entry };
+                leaf.listings = 1;
+                node.children = append(node.children, leaf);
+                return;
+            }
+            int common = commonPrefix(child.label, name, i);
+            if (common < child.label.length()) { // Split - readers still holding 'child' see its old, complete subtree
+                Node lower = new Node(child.label.substring(common));
+                lower.children = child.children;
+                lower.names = child.names;
+                lower.listings = child.listings;
+                lower.top = child.top;
+                Node upper = new Node(child.label.substring(0, common));
+                upper.children = new Node[] { lower };
+                upper.listings = child.listings; // Same dishes below it
+                upper.top = child.top;
+                node.children = replace(node.children, child, upper);
+                child = upper;
+            }
+            node = child;
+            i += common;
+        }
+    }
+
+    // Node whose subtree holds every key starting with 'prefix' (the prefix may end inside its edge)
+    private Node find(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.child(prefix.charAt(i));
+            if (child == null) return null;
+            int common = commonPrefix(child.label, prefix, i);
+            if (i + common == prefix.length()) return child;
+            if (common < child.label.length()) return null;
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    // Ranked node - read its ranking; small node - rank its subtree now (at most SCAN_LIMIT listings)
+    private static List<Listing> best(Node node, int limit) {
+        Top top = node.top;
+        Listing[] ranked = (top != null ? top : rank(node)).listings;
+        List<Listing> result = new ArrayList<>(limit);
+        for (Listing l : ranked) {
+            if (result.size() == limit) break;
+            if (l.getRestaurant().isOpen()) result.add(l); // Closed restaurants are filtered at read time
+        }
+        return result;
+    }
+
+    // SUBTREE SCAN - bounded heap of the best RANKED_DEPTH listings; each name is visited once even when
+    // several of its word-starts lie below this node
+    private static Top rank(Node from) {
+        Ranking ranking = new Ranking(RANKED_DEPTH);
+        Set<NameEntry> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(from);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            for (NameEntry entry : node.names) {
+                if (visited.add(entry)) for (Listing l : entry.listings) ranking.offer(l);
+            }
+            for (Node child : node.children) stack.push(child);
+        }
+        return ranking.toTop();
+    }
+
+    // SPELLING CORRECTION - words sharing trigrams with the token, verified by edit distance
+    private List<Phrase> corrections(String token) {
+        int maxEdits = token.length() <= 4 ? 1 : 2;
+        String[] grams = trigramsOf(token);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            int[] posting = trigrams.get(gram);
+            if (posting != null) for (int id : posting) shared.merge(id, 1, Integer::sum);
+        }
+        int needed = Math.max(1, grams.length - 3 * maxEdits); // One edit changes at most three trigrams
+        String[] vocabulary = words;
+        List<int[]> found = new ArrayList<>(); // {word id, distance}
+        for (Map.Entry<Integer, Integer> e : shared.entrySet()) {
+            if (e.getValue() < needed) continue;
+            String word = vocabulary[e.getKey()];
+            if (Math.abs(word.length() - token.length()) > maxEdits) continue;
+            int distance = editDistance(token, word, maxEdits);
+            if (distance <= maxEdits) found.add(new int[] { e.getKey(), distance });
+        }
+        found.sort((a, b) -> a[1] != b[1] ? Integer.compare(a[1], b[1]) : vocabulary[a[0]].compareTo(vocabulary[b[0]]));
+        List<Phrase> spellings = new ArrayList<>();
+        for (int i = 0; i < found.size() && i < MAX_ALTERNATIVES; i++) spellings.add(new Phrase(vocabulary[found.get(i)[0]], found.get(i)[1]));
+        return spellings;
+    }
+
+    private void addWord(String word) {
+        if (wordIds.containsKey(word)) return;
+        int id = wordCount;
+        if (id == words.length) words = Arrays.copyOf(words, id * 2);
+        words[id] = word;
+        for (String gram : trigramsOf(word)) {
+            int[] posting = trigrams.get(gram);
+            trigrams.put(gram, posting == null ? new int[] { id } : append(posting, id)); // Copy-on-write
+        }
+        wordIds.put(word, id);
+        wordCount = id + 1; // Publish - readers only look at ids below wordCount
+    }
+
+    // Optimal string alignment distance (insert, delete, substitute, swap neighbours), giving up past 'max'
+    static int editDistance(String a, String b, int max) {
+        int[] prev2 = new int[b.length() + 1], prev = new int[b.length() + 1], cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1))
+                    cur[j] = Math.min(cur[j], prev2[j - 2] + 1);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > max) return max + 1; // Every alignment already costs too much
+            int[] t = prev2; prev2 = prev; prev = cur; cur = t;
+        }
+        return prev[b.length()];
+    }
+
+    // Lower case letters and digits, words separated by single spaces
+    static String normalize(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (space && out.length() > 0) out.append(' ');
+                out.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return out.toString();
+    }
+
+    private static String[] trigramsOf(String word) {
+        String padded = "$" + word + "$"; // Padding gives the first and last letters grams of their own
+        String[] grams = new String[Math.max(1, padded.length() - 2)];
+        if (padded.length() < 3) grams[0] = padded;
+        else for (int i = 0; i + 3 <= padded.length(); i++) grams[i] = padded.substring(i, i + 3);
+        return grams;
+    }
+
+    private static int nextWordStart(String name, int from) {
+        int space = name.indexOf(' ', from);
+        return space < 0 ? -1 : space + 1;
+    }
+
+    private static int commonPrefix(String label, String key, int from) {
+        int n = Math.min(label.length(), key.length() - from);
+        int i = 0;
+        while (i < n && label.charAt(i) == key.charAt(from + i)) i++;
+        return i;
+    }
+
+    private static boolean contains(NameEntry[] entries, NameEntry entry) {
+        for (NameEntry e : entries) if (e == entry) return true;
+        return false;
+    }
+
+    private static <T> T[] append(T[] array, T value) {
+        T[] bigger = Arrays.copyOf(array, array.length + 1);
+        bigger[array.length] = value;
+        return bigger;
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] bigger = Arrays.copyOf(array, array.length + 1);
+        bigger[array.length] = value;
+        return bigger;
+    }
+
+    private static Node[] replace(Node[] children, Node old, Node replacement) {
+        Node[] copy = children.clone();
+        for (int i = 0; i < copy.length; i++) if (copy[i] == old) copy[i] = replacement;
+        return copy;
+    }
+
+    // Ranking order - higher rating first, then the cheaper dish
+    private static double ratingOf(Listing l) {
+        return l.getItem() instanceof Rateable ? ((Rateable) l.getItem()).getAverageRating() : 0;
+    }
+
+    private static boolean better(double rating, double price, double otherRating, double otherPrice) {
+        return rating != otherRating ? rating > otherRating : price < otherPrice;
+    }
+
+    // 'static' nested class - one distinct normalized dish name and every listing that carries it
+    private static final class NameEntry {
+        final String name;
+        volatile Listing[] listings = new Listing[0];
+
+        NameEntry(String name) { this.name = name; }
+
+        @Override
+        public String toString() { return name; }
+    }
+
+    // 'static' nested class - a (possibly corrected) phrase and the edits it took to get there
+    private static final class Phrase {
+        final String text;
+        final int edits;
+
+        Phrase(String text, int edits) {
+            this.text = text;
+            this.edits = edits;
+        }
+    }
+
+    // 'static' nested class - trie node; 'label' is the compressed edge leading into it
+    private static final class Node {
+        private static final AtomicReferenceFieldUpdater<Node, Top> TOP =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Top.class, "top"); // CAS on the field - no extra object per node
+        final String label;
+        volatile Node[] children = NO_CHILDREN;
+        volatile NameEntry[] names = NO_NAMES; // Names whose indexed word-start ends exactly here
+        volatile int listings; // Listings whose key passes through this node (written under the index lock)
+        volatile Top top; // Best listings of the subtree - null while the subtree is small enough to scan
+
+        Node(String label) { this.label = label; }
+
+        boolean casTop(Top expected, Top updated) { return TOP.compareAndSet(this, expected, updated); }
+
+        Node child(char first) {
+            for (Node c : children) if (c.label.charAt(0) == first) return c;
+            return null;
+        }
+    }
+
+    // 'static' nested class - immutable ranking of a node, best first, with the scores it was ranked by
+    private static final class Top {
+        final Listing[] listings;
+        final double[] ratings, prices;
+        final boolean complete; // Every listing of the subtree is ranked - none outside can outscore the last one
+
+        Top(Listing[] listings, double[] ratings, double[] prices, boolean complete) {
+            this.listings = listings;
+            this.ratings = ratings;
+            this.prices = prices;
+            this.complete = complete;
+        }
+
+        int indexOf(Listing listing) {
+            for (int i = 0; i < listings.length; i++) if (listings[i] == listing) return i;
+            return -1;
+        }
+
+        // Would a listing with this score make the ranking? Below an incomplete ranking, unranked dishes may be better
+        boolean admits(double rating, double price) {
+            int n = listings.length;
+            return (complete && n < RANKED_DEPTH) || (n > 0 && better(rating, price, ratings[n - 1], prices[n - 1]));
+        }
+
+        // Copy with the listing in place - O(RANKED_DEPTH); unchanged when it is already ranked or too weak
+        Top with(Listing listing, double rating, double price) {
+            if (indexOf(listing) >= 0) return this;
+            if (!admits(rating, price)) return complete ? new Top(listings, ratings, prices, false) : this; // Left outside
+            int n = Math.min(listings.length + 1, RANKED_DEPTH);
+            int at = 0;
+            while (at < listings.length && !better(rating, price, ratings[at], prices[at])) at++;
+            Listing[] l = new Listing[n];
+            double[] r = new double[n], p = new double[n];
+            for (int i = 0, j = 0; i < n; i++) {
+                if (i == at) {
+                    l[i] = listing; r[i] = rating; p[i] = price;
+                } else {
+                    l[i] = listings[j]; r[i] = ratings[j]; p[i] = prices[j]; j++;
+                }
+            }
+            return new Top(l, r, p, complete && n > listings.length); // Pushing out the last one leaves it outside
+        }
+
+        Top without(int index) {
+            int n = listings.length - 1;
+            Listing[] l = new Listing[n];
+            double[] r = new double[n], p = new double[n];
+            for (int i = 0, j = 0; i <= n; i++) {
+                if (i == index) continue;
+                l[j] = listings[i]; r[j] = ratings[i]; p[j] = prices[i]; j++;
+            }
+            return new Top(l, r, p, complete); // The caller puts the listing back, or the ranking records it as left out
+        }
+    }
+
+    // 'static' nested class - bounded min-heap keeping the best k listings; ratings and prices are read
+    // once per listing, so a concurrent rating cannot break the heap order mid-scan
+    private static final class Ranking {
+        private final Listing[] heap;
+        private final double[] ratings, prices;
+        private int size, offered;
+
+        Ranking(int k) {
+            heap = new Listing[k];
+            ratings = new double[k];
+            prices = new double[k];
+        }
+
+        void offer(Listing l) {
+            double rating = ratingOf(l), price = l.getItem().getPrice();
+            offered++;
+            if (size < heap.length) {
+                set(size, l, rating, price);
+                up(size++);
+            } else if (better(rating, price, ratings[0], prices[0])) { // Beats the worst kept listing
+                set(0, l, rating, price);
+                down(0);
+            }
+        }
+
+        Top toTop() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> better(ratings[a], prices[a], ratings[b], prices[b]) ? -1
+                    : better(ratings[b], prices[b], ratings[a], prices[a]) ? 1 : 0);
+            Listing[] best = new Listing[size];
+            double[] r = new double[size], p = new double[size];
+            for (int i = 0; i < size; i++) {
+                best[i] = heap[order[i]]; r[i] = ratings[order[i]]; p[i] = prices[order[i]];
+            }
+            return new Top(best, r, p, offered <= heap.length); // Nothing was turned away
+        }
+
+        private void up(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!better(ratings[parent], prices[parent], ratings[i], prices[i])) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void down(int i) {
+            while (true) {
+                int worst = i, left = 2 * i + 1, right = left + 1;
+                if (left < size && better(ratings[worst], prices[worst], ratings[left], prices[left])) worst = left;
+                if (right < size && better(ratings[worst], prices[worst], ratings[right], prices[right])) worst = right;
+                if (worst == i) return;
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void set(int i, Listing l, double rating, double price) {
+            heap[i] = l;
+            ratings[i] = rating;
+            prices[i] = price;
+        }
+
+        private void swap(int a, int b) {
+            Listing l = heap[a]; heap[a] = heap[b]; heap[b] = l;
+            double r = ratings[a]; ratings[a] = ratings[b]; ratings[b] = r;
+            double p = prices[a]; prices[a] = prices[b]; prices[b] = p;
+        }
+    }
+}
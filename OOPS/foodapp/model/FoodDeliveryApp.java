@@ -1,7 +1,10 @@
 package foodapp.model;
 
+import foodapp.util.EventType;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 // SINGLETON PATTERN - Only one FoodDeliveryApp (Creational Design Pattern)
 
@@ -9,13 +12,41 @@ public class FoodDeliveryApp {
     private static final FoodDeliveryApp instance = new FoodDeliveryApp(); // 'static' class-level variable, 'final' for immutability - Initializing the single instance
 
     // Private Attributes to prevent direct access - Encapsulation
-    private List<Restaurant> restaurants = new ArrayList<>();
-    private List<DeliveryPartner> partners = new ArrayList<>();
-    private List<Order> allOrders = new ArrayList<>();
+    private final String region; // Region served by this instance ("default" for the singleton)
+    private List<Restaurant> restaurants = new CopyOnWriteArrayList<>(); // Thread-safe - metrics gauges read it concurrently
+    private List<DeliveryPartner> partners = new CopyOnWriteArrayList<>(); // Thread-safe list for concurrent registration
+    private final OrderStore orders = new OrderStore(); // Active orders on the heap, completed orders off-heap
+    private final PartnerDispatcher dispatcher = new PartnerDispatcher(); // Pool of free partners for O(1) claims
+    private final SpatialGridIndex<DeliveryPartner> partnerGrid = new SpatialGridIndex<>(GRID_CELL_KM); // Partner locations
+    private final MenuCatalog catalog = new MenuCatalog(); // Platform-wide index of every menu item
+    private final TopRatedDishes topRated = new TopRatedDishes(1); // Best rated dishes, updated on every rating
+    private final SpatialGridIndex<Restaurant> restaurantGrid = new SpatialGridIndex<>(GRID_CELL_KM); // Restaurant locations
+    private final PlatformMetrics metrics = new PlatformMetrics(this); // Latency histograms, counters and gauges (JMX)
+    private final RevenueAnalytics analytics = new RevenueAnalytics(); // Live revenue / volume per restaurant and category
+    private final RecommendationEngine recommendations = new RecommendationEngine(); // "Customers also added"
+    private final AdmissionControl admission = new AdmissionControl(); // Open / kitchen capacity / order rate checks
+
+    private volatile PartnerLifecycle partnerLifecycle; // Created on first dispatch - owns the SLA timing wheel
+    private volatile PaymentEngine paymentEngine; // Created on first use - starts background threads
+    private volatile PricingRules pricingRules = PricingRules.NONE; // Tax, discount and delivery fee applied at placement
+    private volatile OrderJournal journal; // Write-ahead journal, null until OrderJournal.open attaches one
+
+    private static final double GRID_CELL_KM = 1.0; // Size of one spatial grid cell
+    private static final double PARTNER_SEARCH_KM = 10.0; // How far to look for a nearby partner
+    private static final int PARTNER_CANDIDATES = 8; // Nearby partners tried before falling back to the pool
+    private static final long PICKUP_SLA_MILLIS = 15 * 60_000; // Partner must collect the food within 15 minutes
+    private static final long DELIVERY_SLA_MILLIS = 45 * 60_000; // ...and deliver it within 45 minutes of pickup
 
     // Private Constructor to prevent instantiation from outside - Singleton
     private FoodDeliveryApp() {
-        System.out.println("FoodDeliveryApp Platform Launched!");
+        this("default"); // Constructor Chaining
+    }
+
+    // Package-private Constructor - one extra instance per region, created only by ShardedPlatform
+    FoodDeliveryApp(String region) {
+        this.region = region;
+        metrics.register(); // foodapp:type=PlatformMetrics,region=<region>
+        OrderEvents.log(EventType.PLATFORM_LAUNCHED);
     }
 
     // Public method to provide access to the single instance - 'static' method
@@ -24,19 +55,154 @@ public class FoodDeliveryApp {
     }
 
     // Methods to manage restaurants, partners, and orders - Association
-    public void registerRestaurant(Restaurant r) { restaurants.add(r); }
-    public void registerPartner(DeliveryPartner p) { partners.add(p); }
+    public void registerRestaurant(Restaurant r) {
+        restaurants.add(r);
+        r.setPlatform(this);
+        analytics.register(r);
+        for (MenuItem item : r.getMenu()) catalog.index(r, item); // Items added before registration
+        if (r.getLocation() != null) restaurantGrid.update(r, r.getLocation());
+    }
+    public void registerPartner(DeliveryPartner p) {
+        partners.add(p);
+        p.setPlatform(this);
+        if (p.getLocation() != null) partnerGrid.update(p, p.getLocation());
+        dispatcher.register(p);
+    }
 
     // Getter for restaurants - Encapsulation
     public List<Restaurant> getRestaurants() { return restaurants; }
+    public String getRegion() { return region; }
+    public List<DeliveryPartner> getPartners() { return partners; }
+    public MenuCatalog getCatalog() { return catalog; }
+    public OrderJournal getJournal() { return journal; }
+    public PlatformMetrics getMetrics() { return metrics; }
+    public RevenueAnalytics getAnalytics() { return analytics; }
+    public AdmissionControl getAdmissionControl() { return admission; }
+    public RecommendationEngine getRecommendations() { return recommendations; }
+    public PricingRules getPricingRules() { return pricingRules; }
+    public void setPricingRules(PricingRules rules) { this.pricingRules = rules; }
+
+    // Lazy Initialization - double-checked locking on a 'volatile' field
+    public PaymentEngine getPaymentEngine() {
+        PaymentEngine engine = paymentEngine;
+        if (engine == null) {
+            synchronized (this) {
+                engine = paymentEngine;
+                if (engine == null) paymentEngine = engine = new PaymentEngine();
+            }
+        }
+        return engine;
+    }
 
-    // Method to get an available delivery partner - Association
+    // Lazy Initialization - same double-checked pattern as the payment engine
+    public PartnerLifecycle getPartnerLifecycle() {
+        PartnerLifecycle lifecycle = partnerLifecycle;
+        if (lifecycle == null) {
+            synchronized (this) {
+                lifecycle = partnerLifecycle;
+                if (lifecycle == null)
+                    partnerLifecycle = lifecycle = new PartnerLifecycle(this, PICKUP_SLA_MILLIS, DELIVERY_SLA_MILLIS);
+            }
+        }
+        return lifecycle;
+    }
+
+    // Method to plug in a different engine (e.g. one backed by a real gateway)
+    public synchronized void setPaymentEngine(PaymentEngine engine) { this.paymentEngine = engine; }
+
+    // Package-private - called by OrderJournal.open once replay has finished
+    void setJournal(OrderJournal journal) { this.journal = journal; }
+    public TopRatedDishes getTopRatedDishes() { return topRated; }
+
+    // Method to claim an available delivery partner - Association
+    // The partner is reserved atomically, so two orders can never receive the same partner
     public DeliveryPartner getAvailablePartner() {
-        return partners.stream() // Stream through partners
-                .filter(DeliveryPartner::isAvailable) // Check availability
-                .findFirst().orElse(null); // Return null if none available
+        long start = System.nanoTime();
+        DeliveryPartner partner = dispatcher.claim(); // Return null if none available
+        metrics.recordPartnerClaim(System.nanoTime() - start, partner != null);
+        return partner;
+    }
+
+    // Overloaded Method - claim the nearest available partner to the restaurant, falling back to any free partner
+    public DeliveryPartner getAvailablePartner(Restaurant r) {
+        long start = System.nanoTime();
+        DeliveryPartner partner = claimNear(r);
+        metrics.recordPartnerClaim(System.nanoTime() - start, partner != null);
+        return partner;
+    }
+
+    private DeliveryPartner claimNear(Restaurant r) {
+        if (r.getLocation() != null) {
+            for (DeliveryPartner p : findNearestAvailablePartners(r, PARTNER_CANDIDATES)) {
+                if (p.tryClaim()) return p; // Another order may have claimed it meanwhile - try the next one
+            }
+        }
+        return dispatcher.claim();
     }
 
+    // Method to find the k nearest available partners to a restaurant (closest first)
+    public List<DeliveryPartner> findNearestAvailablePartners(Restaurant r, int k) {
+        if (r.getLocation() == null) return new ArrayList<>();
+        return partnerGrid.nearest(r.getLocation(), k, PARTNER_SEARCH_KM, DeliveryPartner::isAvailable);
+    }
+
+    // Method to find open restaurants within radiusKm of the user
+    public List<Restaurant> findOpenRestaurantsNear(User u, double radiusKm) {
+        if (u.getLocation() == null) return new ArrayList<>();
+        return restaurantGrid.withinRadius(u.getLocation(), radiusKm, Restaurant::isOpen);
+    }
+
+    // Callback from DeliveryPartner.moveTo - incremental index update, no rebuild
+    void onPartnerMoved(DeliveryPartner p) {
+        partnerGrid.update(p, p.getLocation());
+    }
+
+    // Method to return a partner to the pool once its delivery is done
+    public void releasePartner(DeliveryPartner p) { dispatcher.release(p); }
+
+    // Getter for the dispatcher - Encapsulation
+    public PartnerDispatcher getDispatcher() { return dispatcher; }
+
     // Method to add order to all orders list - Association
-    public void addOrder(Order order) { allOrders.add(order); }
+    public void addOrder(Order order) { orders.add(order); }
+
+    // Method to finish an order - it moves to the compact cold tier and its partner is freed once idle
+    public void completeOrder(Order order) {
+        OrderJournal journal = this.journal;
+        if (journal != null) journal.orderCompleted(order); // Write-ahead - a replayed order must not come back active
+        orders.complete(order);
+        order.leaveKitchen(); // Frees room for the restaurant's next order and drops any uncooked tickets
+        PartnerLifecycle lifecycle = partnerLifecycle;
+        if (lifecycle != null) lifecycle.forget(order); // Completed orders must not keep an SLA timer alive
+        DeliveryPartner partner = order.getDeliveryPartner();
+        if (partner != null && partner.finishOrder(order)) releasePartner(partner);
+    }
+
+    // Package-private - undo an admitted order that will not go ahead (payment failed, no partner in time):
+    // it leaves the active tier and gives back its kitchen slot, tickets and partner
+    void cancelOrder(Order order) {
+        OrderJournal journal = this.journal;
+        if (journal != null) journal.orderCancelled(order);
+        orders.cancel(order);
+        order.abandon(this);
+        analytics.orderCancelled(order); // Its placement no longer counts towards order volume
+    }
+
+    // Method to list active orders created in [from, to) - ids are time-ordered, so the time range is an id range
+    // Completed orders in the same range are visited with getOrderStore().forEachCompleted(...)
+    public List<Order> getOrdersBetween(Instant from, Instant to) {
+        long fromId = Order.getIdGenerator().firstIdAt(from.toEpochMilli());
+        long toId = Order.getIdGenerator().firstIdAt(to.toEpochMilli());
+        return orders.getActiveBetween(fromId, toId);
+    }
+
+    // Method to find an in-flight order by its display id ("ORD..."), O(1) - null if unknown or already completed
+    // Completed orders are found with getOrderStore().getCompleted(Order.parseOrderId(orderId))
+    public Order findOrder(String orderId) {
+        long id = Order.parseOrderId(orderId);
+        return id == 0 ? null : orders.getActive(id);
+    }
+
+    // Getter for the order store - Encapsulation
+    public OrderStore getOrderStore() { return orders; }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package foodapp.model;
+
+// IMMUTABLE VALUE OBJECT - A latitude/longitude pair (fields are 'final', no setters)
+
+public final class GeoPoint { // 'final' class cannot be extended
+    private static final double KM_PER_DEGREE = 111.32; // Length of one degree of latitude
+
+    private final double latitude;
+    private final double longitude;
+
+    // Parameterized Constructor - Initialization of GeoPoint object
+    public GeoPoint(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180)
+            throw new IllegalArgumentException("Invalid coordinates: " + latitude + ", " + longitude);
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    // Method to compute the distance in km - equirectangular approximation, accurate at city scale and cheaper than haversine
+    public double distanceKm(GeoPoint other) {
+        double meanLat = Math.toRadians((latitude + other.latitude) / 2);
+        double dx = (other.longitude - longitude) * Math.cos(meanLat);
+        double dy = other.latitude - latitude;
+        return Math.sqrt(dx * dx + dy * dy) * KM_PER_DEGREE;
+    }
+
+    // 'static' utility methods to convert between km and degrees
+    static double kmToDegrees(double km) { return km / KM_PER_DEGREE; }
+    static double degreesToKm(double degrees) { return degrees * KM_PER_DEGREE; }
+
+    // Getters (Encapsulation)
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+
+    @Override
+    public String toString() { return "(" + latitude + ", " + longitude + ")"; }
+}
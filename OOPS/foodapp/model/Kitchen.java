@@ -0,0 +1,224 @@
+package foodapp.model;
+
+import foodapp.util.EventType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// SCHEDULER - A restaurant's kitchen: stations (e.g. veg and non-veg lines) cooking tickets in priority order
+// Placing an order splits it into one ticket per station, chosen by each dish's category. Every station has a
+// concurrent priority queue ranked by arrival time minus a head start for priority orders (AGING) - a normal
+// ticket can only be overtaken by priority tickets arriving within the head start, so it never starves.
+// A cook whose own station is empty takes the next ticket from the busiest station (WORK STEALING)
+
+public class Kitchen {
+
+    private static final long DEFAULT_HEAD_START_MILLIS = 5 * 60_000; // Priority orders jump up to 5 minutes of queue
+
+    private final Restaurant restaurant;
+    private final List<Station> stations = new CopyOnWriteArrayList<>(); // Read by every cook, changed rarely
+    private final Map<String, Station> byCategory = new ConcurrentHashMap<>(); // Category -> station cooking it
+    private final Map<Order, Ticket[]> inKitchen = new ConcurrentHashMap<>(); // Orders with tickets still queued or cooking
+    private final AtomicLong sequence = new AtomicLong(); // Tie-breaker - FIFO among equal ranks
+    private volatile Station fallback; // Cooks categories no station claims
+    private volatile long headStartNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_HEAD_START_MILLIS);
+    private volatile boolean workStealing = true;
+
+    // Package-private Constructor - created by Restaurant.getKitchen
+    Kitchen(Restaurant restaurant) {
+        this.restaurant = restaurant;
+    }
+
+    // Method to add a station - no categories makes it the catch-all station
+    public synchronized Station addStation(String name, int cooks, long prepMillisPerItem, String... categories) {
+        if (cooks <= 0) throw new IllegalArgumentException("A station needs at least one cook: " + name);
+        Station station = new Station(name, cooks, prepMillisPerItem);
+        stations.add(station);
+        for (String category : categories) byCategory.put(category, station);
+        if (categories.length == 0 || fallback == null) fallback = station; // First station until a catch-all is added
+        return station;
+    }
+
+    // Setters - scheduling policy
+    public void setPriorityHeadStart(long millis) { headStartNanos = TimeUnit.MILLISECONDS.toNanos(millis); }
+    public void setWorkStealing(boolean enabled) { workStealing = enabled; }
+
+    // Getters - load, for dashboards and dispatch
+    public List<Station> getStations() { return Collections.unmodifiableList(stations); }
+    public int getOrdersInKitchen() { return inKitchen.size(); }
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Station s : stations) depth += s.queue.size();
+        return depth;
+    }
+
+    // Method to estimate how long a new normal order would wait before its slowest station starts it
+    public long getEstimatedWaitMillis() {
+        long wait = 0;
+        for (Station s : stations) wait = Math.max(wait, s.getBacklogMillis());
+        return wait;
+    }
+
+    // Method to estimate how long an order would take if it were placed now - queue wait plus its own cooking
+    public long estimatePrepMillis(Order order) {
+        if (stations.isEmpty()) return 0;
+        long estimate = 0;
+        for (Ticket t : split(order, false)) estimate = Math.max(estimate, t.station.getBacklogMillis() + t.prepMillis);
+        return estimate;
+    }
+
+    // Package-private - called when the order is placed; returns the estimated prep time (0 without stations)
+    long enqueue(Order order, boolean isPriority) {
+        if (stations.isEmpty()) return 0;
+        List<Ticket> tickets = split(order, isPriority);
+        long estimate = 0;
+        for (Ticket t : tickets) { // Estimate before queueing - a ticket does not wait for itself
+            estimate = Math.max(estimate, t.station.getBacklogMillis() + t.prepMillis);
+        }
+        inKitchen.put(order, tickets.toArray(new Ticket[0]));
+        for (Ticket t : tickets) {
+            t.station.workMillis.addAndGet(t.prepMillis);
+            t.station.queue.add(t);
+        }
+        return estimate;
+    }
+
+    // Method for a cook at 'station' to take their next ticket - null if the whole kitchen is idle
+    public Ticket next(Station station) {
+        Ticket ticket = poll(station);
+        if (ticket == null && workStealing) {
+            Station busiest = null;
+            for (Station s : stations) { // Steal from the deepest queue
+                if (s != station && (busiest == null || s.queue.size() > busiest.queue.size())) busiest = s;
+            }
+            if (busiest != null) ticket = poll(busiest);
+            if (ticket != null) station.stolen.incrementAndGet();
+        }
+        return ticket;
+    }
+
+    // Method to report a ticket as cooked - the order is ready once its last ticket is done
+    public void done(Ticket ticket) {
+        if (!ticket.finish()) return; // Already done or cancelled
+        Ticket[] tickets = inKitchen.get(ticket.order);
+        if (tickets == null) return;
+        for (Ticket t : tickets) if (!t.isFinished()) return;
+        if (inKitchen.remove(ticket.order) != null) {
+            ticket.order.setEstimatedReadyAt(System.currentTimeMillis()); // Ready now, not when we guessed
+            OrderEvents.log(EventType.ORDER_READY, ticket.order.getId(), 0);
+        }
+    }
+
+    // Package-private - drop whatever is left of an order that is completed or abandoned before it was cooked
+    void cancel(Order order) {
+        Ticket[] tickets = inKitchen.remove(order);
+        if (tickets == null) return;
+        for (Ticket t : tickets) {
+            if (t.finish()) t.station.queue.remove(t); // O(queue) - cancellations are rare
+        }
+    }
+
+    // Skips tickets cancelled while they were still queued
+    private static Ticket poll(Station station) {
+        Ticket ticket = station.queue.poll();
+        while (ticket != null && ticket.isFinished()) ticket = station.queue.poll();
+        return ticket;
+    }
+
+    // One ticket per station the order needs, with the station's share of the dishes
+    private List<Ticket> split(Order order, boolean isPriority) {
+        List<Ticket> tickets = new ArrayList<>(2);
+        long rank = System.nanoTime() - (isPriority ? headStartNanos : 0); // AGING - a fixed head start, not a permanent lead
+        for (int i = 0; i < order.getLineCount(); i++) {
+            Station station = byCategory.getOrDefault(order.getLineItem(i).getCategory(), fallback);
+            Ticket ticket = null;
+            for (Ticket t : tickets) if (t.station == station) ticket = t;
+            if (ticket == null) {
+                ticket = new Ticket(order, station, isPriority, rank, sequence.incrementAndGet());
+                tickets.add(ticket);
+            }
+            ticket.units += order.getLineQuantity(i);
+            ticket.prepMillis += order.getLineQuantity(i) * station.prepMillisPerItem;
+        }
+        return tickets;
+    }
+
+    @Override
+    public String toString() {
+        return restaurant.getName() + " kitchen: " + getQueueDepth() + " queued, ~" + getEstimatedWaitMillis() / 60_000 + " min wait";
+    }
+
+    // 'static' nested class - one line of the kitchen with its own cooks and queue
+    public static final class Station {
+        private final String name;
+        private final int cooks;
+        private final long prepMillisPerItem;
+        private final PriorityBlockingQueue<Ticket> queue = new PriorityBlockingQueue<>();
+        private final AtomicLong workMillis = new AtomicLong(); // Prep time of tickets queued or cooking here
+        private final AtomicInteger stolen = new AtomicInteger(); // Tickets this station took from others
+
+        private Station(String name, int cooks, long prepMillisPerItem) {
+            this.name = name;
+            this.cooks = cooks;
+            this.prepMillisPerItem = prepMillisPerItem;
+        }
+
+        public String getName() { return name; }
+        public int getCooks() { return cooks; }
+        public int getQueueDepth() { return queue.size(); }
+        public long getBacklogMillis() { return workMillis.get() / cooks; } // Cooks work in parallel
+        public int getStolenCount() { return stolen.get(); }
+
+        @Override
+        public String toString() { return name + " (" + cooks + " cooks, " + queue.size() + " queued)"; }
+    }
+
+    // 'static' nested class - the part of one order cooked at one station
+    public static final class Ticket implements Comparable<Ticket> {
+        private final Order order;
+        private final Station station; // Station that owns the work, even when another one steals it
+        private final boolean priority;
+        private final long rank; // Arrival time minus the priority head start - lower is cooked first
+        private final long sequence;
+        private final AtomicInteger finished = new AtomicInteger(); // 0 until done or cancelled, exactly once
+        private int units;
+        private long prepMillis;
+
+        private Ticket(Order order, Station station, boolean priority, long rank, long sequence) {
+            this.order = order;
+            this.station = station;
+            this.priority = priority;
+            this.rank = rank;
+            this.sequence = sequence;
+        }
+
+        public Order getOrder() { return order; }
+        public Station getStation() { return station; }
+        public boolean isPriority() { return priority; }
+        public int getUnits() { return units; }
+        public long getPrepMillis() { return prepMillis; }
+        boolean isFinished() { return finished.get() != 0; }
+
+        private boolean finish() {
+            if (!finished.compareAndSet(0, 1)) return false;
+            station.workMillis.addAndGet(-prepMillis);
+            return true;
+        }
+
+        @Override
+        public int compareTo(Ticket other) {
+            int byRank = Long.compare(rank - other.rank, 0); // Difference - nanoTime values may wrap
+            return byRank != 0 ? byRank : Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public String toString() { return order.getOrderId() + " x" + units + " @" + station.name + (priority ? " [priority]" : ""); }
+    }
+}
@@ -0,0 +1,126 @@
+package foodapp.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// INDEX over every registered restaurant's menu (Composition + Concurrency)
+// Hash index by id, one posting list per category, sorted price indexes and a dish-name search index,
+// kept up to date as Restaurant.addMenuItem / updatePrice are called instead of scanning every menu per query
+
+public class MenuCatalog {
+
+    private final Map<MenuItem, Listing> byItem = new ConcurrentHashMap<>(); // Dish -> its listing (MenuItem keeps identity equality)
+    private final Map<String, Listing[]> byId = new ConcurrentHashMap<>(); // Item id -> listings; ids are only unique per restaurant
+    private final Map<String, Queue<Listing>> byCategory = new ConcurrentHashMap<>(); // Category -> posting list
+    private final NavigableMap<Double, Queue<Listing>> byPrice = new ConcurrentSkipListMap<>(); // Price -> listings (all categories)
+    private final Map<String, NavigableMap<Double, Queue<Listing>>> byCategoryPrice = new ConcurrentHashMap<>(); // Category -> price index
+    private final DishSearch search = new DishSearch(); // Autocomplete and typo-tolerant search by dish name
+
+    // Package-private - called by FoodDeliveryApp.registerRestaurant and Restaurant.addMenuItem
+    void index(Restaurant restaurant, MenuItem item) {
+        Listing listing = new Listing(item, restaurant);
+        if (byItem.putIfAbsent(item, listing) != null) return; // Already indexed
+        byId.merge(item.getId(), new Listing[] { listing }, MenuCatalog::concat); // Atomic - "V1" at two restaurants keeps both
+        byCategory.computeIfAbsent(item.getCategory(), c -> new ConcurrentLinkedQueue<>()).add(listing);
+        addToPriceIndexes(listing, item.getPrice());
+        search.add(listing);
+    }
+
+    // Package-private - called by Restaurant.updatePrice; moves the listing to its new price
+    void reprice(MenuItem item, double oldPrice) {
+        Listing listing = byItem.get(item);
+        if (listing == null) return;
+        Queue<Listing> old = byPrice.get(oldPrice);
+        if (old != null) old.remove(listing);
+        NavigableMap<Double, Queue<Listing>> categoryIndex = byCategoryPrice.get(item.getCategory());
+        old = categoryIndex == null ? null : categoryIndex.get(oldPrice);
+        if (old != null) old.remove(listing);
+        addToPriceIndexes(listing, item.getPrice());
+        search.rescore(listing);
+    }
+
+    // Package-private - called by rated dishes; keeps search rankings current
+    void rated(MenuItem item) {
+        Listing listing = byItem.get(item);
+        if (listing != null) search.rescore(listing);
+    }
+
+    private void addToPriceIndexes(Listing listing, double price) {
+        byPrice.computeIfAbsent(price, p -> new ConcurrentLinkedQueue<>()).add(listing);
+        byCategoryPrice.computeIfAbsent(listing.item.getCategory(), c -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(price, p -> new ConcurrentLinkedQueue<>()).add(listing);
+    }
+
+    // Method to find dishes by id - O(1); every restaurant using the id is returned
+    public List<Listing> findById(String id) {
+        Listing[] listings = byId.get(id);
+        return listings == null ? new ArrayList<>() : List.of(listings);
+    }
+
+    // Overloaded Method - the dish with this id at one restaurant, or null
+    public Listing findById(Restaurant restaurant, String id) {
+        Listing[] listings = byId.get(id);
+        if (listings != null) for (Listing l : listings) if (l.restaurant == restaurant) return l;
+        return null;
+    }
+
+    private static Listing[] concat(Listing[] a, Listing[] b) {
+        Listing[] both = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, both, a.length, b.length);
+        return both;
+    }
+
+    // Method to list every dish of a category ("Veg" / "Non-Veg")
+    public List<Listing> findByCategory(String category) {
+        Queue<Listing> postings = byCategory.get(category);
+        return postings == null ? new ArrayList<>() : new ArrayList<>(postings);
+    }
+
+    // Method to find dishes in a price band, e.g. "veg dishes under ₹250 from open restaurants"
+    // category may be null for all categories; only the matching slice of the sorted index is visited
+    public List<Listing> find(String category, double minPrice, double maxPrice, boolean openOnly) {
+        NavigableMap<Double, Queue<Listing>> index = category == null ? byPrice : byCategoryPrice.get(category);
+        List<Listing> result = new ArrayList<>();
+        if (index == null) return result;
+        for (Collection<Listing> bucket : index.subMap(minPrice, true, maxPrice, true).values()) {
+            for (Listing listing : bucket) {
+                if (!openOnly || listing.restaurant.isOpen()) result.add(listing);
+            }
+        }
+        return result;
+    }
+
+    // Overloaded Method - everything up to maxPrice
+    public List<Listing> find(String category, double maxPrice, boolean openOnly) {
+        return find(category, 0, maxPrice, openOnly);
+    }
+
+    // Getter - number of indexed dishes
+    public int size() { return byItem.size(); }
+    public DishSearch getSearch() { return search; }
+
+    // 'static' nested class - a dish together with the restaurant that serves it
+    public static final class Listing {
+        private final MenuItem item;
+        private final Restaurant restaurant;
+
+        Listing(MenuItem item, Restaurant restaurant) {
+            this.item = item;
+            this.restaurant = restaurant;
+        }
+
+        public MenuItem getItem() { return item; }
+        public Restaurant getRestaurant() { return restaurant; }
+
+        @Override
+        public String toString() { return item.getDetails() + " @ " + restaurant.getName(); }
+    }
+}
@@ -5,8 +5,10 @@ package foodapp.model;
 public abstract class MenuItem { // 'abstract' keyword prevents instantiation of this class
     private final String id; // 'private' for encapsulation, 'final' to ensure immutability (cannot be changed after initialization)
     protected String name; // 'protected' allows access in subclasses but not from outside package
-    public double price; // 'public' allows direct access from anywhere
+    private volatile double price; // 'private' - changed only through Restaurant.updatePrice, which publishes a new menu version
     private String description; // 'private' to encapsulate to prevent direct access
+    private Restaurant restaurant; // Restaurant serving this item (set by Restaurant.addMenuItem)
+    private volatile int recommendationKey = -1; // Dense index assigned by RecommendationEngine (-1 until first ordered)
 
     // Parameterized Constructor - Initialization of object fields
     public MenuItem(String id, String name, double price) {
@@ -30,4 +32,29 @@ public abstract class MenuItem { // 'abstract' keyword prevents instantiation of
     public String getName() {
         return name;
     }
+    public double getPrice() { // Current price - orders use the price of the menu version they were built from
+        return price;
+    }
+    public Restaurant getRestaurant() {
+        return restaurant;
+    }
+
+    // Package-private - called by Restaurant.updatePrice only
+    void setPrice(double price) {
+        this.price = price;
+    }
+
+    // Package-private - set by Restaurant.addMenuItem
+    void setRestaurant(Restaurant restaurant) {
+        this.restaurant = restaurant;
+    }
+
+    // Package-private - dense key used by RecommendationEngine (written under the engine's lock)
+    int getRecommendationKey() { return recommendationKey; }
+    void setRecommendationKey(int key) { recommendationKey = key; }
+
+    // Package-private - platform the item is listed on, or null before its restaurant is registered
+    FoodDeliveryApp getPlatform() {
+        return restaurant == null ? null : restaurant.getPlatform();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package foodapp.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+// IMMUTABLE VALUE OBJECT - One published version of a restaurant's menu: the dishes and their prices
+// Restaurants swap whole snapshots atomically (copy-on-write), so a reader holding one never sees a
+// half-applied edit and never needs a lock; orders keep the snapshot they were priced from
+
+public final class MenuSnapshot {
+
+    static final MenuSnapshot EMPTY = new MenuSnapshot(0, new MenuItem[0], new double[0]);
+
+    private final long version; // Increases by one with every published change
+    private final MenuItem[] items; // Never modified after construction
+    private final double[] prices; // prices[i] is the price of items[i] in this version
+    private final Map<MenuItem, Integer> positions; // Item -> index, built once per version
+    private final List<MenuItem> view = new ItemsView(); // Read-only list over 'items' - no copying
+
+    // Private Constructor - new versions are derived with withItem / withPrice
+    private MenuSnapshot(long version, MenuItem[] items, double[] prices) {
+        this.version = version;
+        this.items = items;
+        this.prices = prices;
+        this.positions = new IdentityHashMap<>(items.length * 2);
+        for (int i = 0; i < items.length; i++) positions.put(items[i], i);
+    }
+
+    // Package-private factory method - a whole menu in one version (PlatformSnapshot load), instead of one copy per item
+    static MenuSnapshot of(MenuItem[] items, double[] prices) {
+        return new MenuSnapshot(1, items.clone(), prices.clone());
+    }
+
+    // Methods to derive the next version - O(menu size), paid by the (rare) writer instead of every reader
+    MenuSnapshot withItem(MenuItem item, double price) {
+        MenuItem[] nextItems = Arrays.copyOf(items, items.length + 1);
+        double[] nextPrices = Arrays.copyOf(prices, prices.length + 1);
+        nextItems[items.length] = item;
+        nextPrices[prices.length] = price;
+        return new MenuSnapshot(version + 1, nextItems, nextPrices);
+    }
+
+    MenuSnapshot withPrice(int index, double price) {
+        double[] nextPrices = prices.clone();
+        nextPrices[index] = price;
+        return new MenuSnapshot(version + 1, items, nextPrices); // Items array is shared - it is never written
+    }
+
+    // Getters - all lock-free and allocation-free
+    public long getVersion() { return version; }
+    public int size() { return items.length; }
+    public MenuItem getItem(int index) { return items[index]; }
+    public double getPrice(int index) { return prices[index]; }
+    public List<MenuItem> getItems() { return view; }
+
+    // Method to find an item's position in this version, -1 if it is not on the menu
+    public int indexOf(MenuItem item) {
+        Integer index = positions.get(item);
+        return index == null ? -1 : index;
+    }
+
+    // Method to find the price of an item in this version - NaN if it is not on the menu
+    public double priceOf(MenuItem item) {
+        int index = indexOf(item);
+        return index < 0 ? Double.NaN : prices[index];
+    }
+
+    // Inner class - unmodifiable List backed directly by the snapshot's array
+    private final class ItemsView extends AbstractList<MenuItem> implements RandomAccess {
+        @Override
+        public MenuItem get(int index) { return items[index]; }
+
+        @Override
+        public int size() { return items.length; }
+    }
+}
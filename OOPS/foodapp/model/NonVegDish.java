@@ -1,9 +1,9 @@
 package foodapp.model;
 
-// INHERITANCE + ABSTRACT CLASS + SUBCLASS of MenuItem
+// INHERITANCE + SUBCLASS of RatedDish (which extends MenuItem and implements Rateable)
+
+public class NonVegDish extends RatedDish { // 'extends' for inheritance - ratings come from RatedDish
 
-public class NonVegDish extends MenuItem { // 'extends' keyword for inheritance from abstract class
-    
     // Parameterized Constructor - Initialization of NonVegDish object
     public NonVegDish(String id, String name, double price) {
         super(id, name, price); // 'super' keyword calls superclass constructor
@@ -15,4 +15,4 @@ public class NonVegDish extends MenuItem { // 'extends' keyword for inheritance
     public String getCategory() {
         return "Non-Veg";
     }
-}
\ No newline at end of file
+}
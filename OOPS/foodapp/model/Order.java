@@ -1,29 +1,57 @@
 package foodapp.model;
 
+import foodapp.interfaces.IdGenerator;
 import foodapp.interfaces.Payable;
 import foodapp.exceptions.RestaurantClosedException;
 import foodapp.exceptions.PaymentFailedException;
+import foodapp.util.EventType;
+import foodapp.util.SnowflakeIdGenerator;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.ZoneId;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 
 // INTERFACE IMPLEMENTATION + METHOD OVERLOADING (COMPILE-TIME POLYMORPHISM)
 
 public class Order implements Payable { // 'implements' keyword for interface implementation
     
     // Private Attributes for encapsulation to prevent direct access from outside - 'private' access modifier
+    private final long id; // Numeric, time-ordered id
     private final String orderId; // 'final' keyword to ensure immutability (cannot be changed after initialization)
     private User customer;
     private Restaurant restaurant;
-    private List<MenuItem> items = new ArrayList<>(); // Aggregation of MenuItems - Instantiation using 'new' keyword
-    private double totalAmount;
+    // Aggregation of MenuItems as line items - parallel arrays, one entry per distinct dish (not per unit)
+    private MenuItem[] lineItems = new MenuItem[4];
+    private int[] lineQuantities = new int[4];
+    private long[] lineUnitPaise = new long[4]; // Unit price charged, in paise
+    private int lineCount;
+    private int unitCount; // Units across all lines - the size of getItems()
+    private final List<MenuItem> items = new UnitView(); // Created once per order - getItems() allocates nothing
+    private MenuSnapshot menu; // Menu version the order is priced from, pinned by the first addItem
+    private PricingRules pricing; // Rules the bill was built with - null until the order is priced
+    private long subtotalPaise; // Money is integer paise - exact, no floating-point drift
+    private long discountPaise;
+    private long taxPaise;
+    private long deliveryFeePaise;
+    private long totalPaise;
     private LocalDateTime orderTime;
-    private DeliveryPartner deliveryPartner;
-    private static int orderCounter = 1000; // 'static' keyword for class-level variable (shared among all instances)
+    private volatile DeliveryPartner deliveryPartner; // 'volatile' - may be reassigned by the SLA timer thread
+    private boolean priority; // Set when the order is placed
+    private volatile boolean kitchenSlot; // Counted in the restaurant's active orders (set by AdmissionControl)
+    private volatile long estimatedReadyAt; // Epoch millis the kitchen expects the food to be ready, 0 if unknown
+    private double paidAmount; // Amount received by processPayment
+    private boolean paid; // Revenue booked by RevenueAnalytics - later payments add none (guarded by 'this')
+    private long countedAt; // When RevenueAnalytics counted the placement, 0 if not counted (guarded by 'this')
+    private static volatile IdGenerator idGenerator = new SnowflakeIdGenerator(0); // 'static' keyword for class-level variable (shared among all instances)
 
     // Default Constructor - Initialization of Order object
     public Order() {
-        this.orderId = "ORD" + (++orderCounter); // 'this' keyword refers to current instance
+        this.id = idGenerator.nextId(); // Thread-safe - no shared counter to race on
+        this.orderId = "ORD" + idGenerator.format(id); // 'this' keyword refers to current instance
         this.orderTime = LocalDateTime.now();
     }
 
@@ -32,14 +60,71 @@ public class Order implements Payable { // 'implements' keyword for interface im
         this(); // Constructor Chaining - Call to Default Constructor using 'this'
         this.customer = customer; // 'this' keyword refers to current instance
         this.restaurant = restaurant;
+        OrderJournal journal = journal();
+        if (journal != null) journal.orderCreated(this); // Write-ahead - recorded before anything else happens to the order
     }
 
-    // Method to add item to the order
+    // Package-private Constructor - used by OrderJournal to rebuild an order with its original id and time
+    Order(long id, User customer, Restaurant restaurant, LocalDateTime orderTime) {
+        this.id = id;
+        this.orderId = "ORD" + idGenerator.format(id);
+        this.orderTime = orderTime;
+        this.customer = customer;
+        this.restaurant = restaurant;
+    }
+
+    // Method to add one unit of an item to the order
     public void addItem(MenuItem item) {
-        items.add(item);
-        totalAmount += item.price;
+        addItem(item, 1);
+    }
+
+    // Overloaded Method - add several units at once; repeated dishes share one line
+    public void addItem(MenuItem item, int quantity) {
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        long unitPaise = toPaise(priceOf(item));
+        restoreItem(item, unitPaise, quantity);
+        OrderJournal journal = journal();
+        if (journal != null) journal.itemAdded(this, item, unitPaise, quantity);
+    }
+
+    // Method to build the bill with the given rules - one pass over the lines, no allocation
+    public void applyPricing(PricingRules rules) {
+        pricing = rules;
+        reprice();
+    }
+
+    // Price from the pinned menu version, so a price change mid-checkout does not alter this order
+    private double priceOf(MenuItem item) {
+        if (menu == null && restaurant != null) menu = restaurant.getMenuSnapshot();
+        double price = menu == null ? Double.NaN : menu.priceOf(item);
+        return Double.isNaN(price) ? item.getPrice() : price; // Not on the pinned version (or not on any menu) - current price
     }
 
+    // SINGLE PASS - subtotal, discount and tax together. Tax is accumulated both with and without the
+    // discount because eligibility (minimum subtotal) is only known once every line has been seen
+    private void reprice() {
+        PricingRules rules = pricing == null ? PricingRules.NONE : pricing;
+        int discountBps = rules.getDiscountBps();
+        long subtotal = 0, discount = 0, tax = 0, taxIfDiscounted = 0;
+        for (int i = 0; i < lineCount; i++) {
+            long line = lineUnitPaise[i] * lineQuantities[i];
+            int taxBps = rules.taxBpsFor(lineItems[i].getCategory());
+            long lineDiscount = PricingRules.applyBps(line, discountBps);
+            subtotal += line;
+            discount += lineDiscount;
+            tax += PricingRules.applyBps(line, taxBps);
+            taxIfDiscounted += PricingRules.applyBps(line - lineDiscount, taxBps);
+        }
+        boolean discounted = discountBps > 0 && subtotal >= rules.getDiscountMinSubtotalPaise();
+        subtotalPaise = subtotal;
+        discountPaise = discounted ? discount : 0;
+        taxPaise = discounted ? taxIfDiscounted : tax;
+        deliveryFeePaise = lineCount == 0 ? 0 : rules.deliveryFeeFor(subtotal - discountPaise);
+        totalPaise = subtotal - discountPaise + taxPaise + deliveryFeePaise;
+    }
+
+    private static long toPaise(double rupees) { return Math.round(rupees * 100); }
+
     // COMPILE-TIME POLYMORPHISM
     // Method Overloading - placeOrder without priority
     public void placeOrder() throws RestaurantClosedException {
@@ -48,27 +133,283 @@ public class Order implements Payable { // 'implements' keyword for interface im
 
     // Method Overloading - placeOrder with priority option 
     public void placeOrder(boolean isPriority) throws RestaurantClosedException {
-        if (!restaurant.isOpen())
-            throw new RestaurantClosedException(restaurant.getName() + " is closed!");
-
-        deliveryPartner = FoodDeliveryApp.getInstance().getAvailablePartner();
-        if (deliveryPartner == null)
-            System.out.println("No delivery partner available!");
-
-        System.out.println("Order " + orderId + " placed! Total: ₹" + totalAmount);
-        if (isPriority) System.out.println("Priority delivery assigned!");
+        FoodDeliveryApp app = platform();
+        long start = System.nanoTime(); // Latency goes to the platform's metrics
+        admit(app); // Closed, kitchen full or over its order rate - rejected before any work is done
+        dispatch(app, isPriority, start);
     }
 
     // Implementing method from Payable interface
     @Override
     public boolean processPayment(double amount) {
-        if (amount < totalAmount)
+        PlatformMetrics metrics = platform().getMetrics();
+        long start = System.nanoTime();
+        if (!isPaymentSufficient(amount)) {
+            metrics.recordPayment(System.nanoTime() - start, false);
             throw new PaymentFailedException("Insufficient payment!");
-        System.out.println("Payment of ₹" + amount + " successful!");
+        }
+        recordPayment(amount);
+        OrderEvents.log(EventType.PAYMENT_SUCCEEDED, id, amount);
+        metrics.recordPayment(System.nanoTime() - start, true);
         return true;
     }
 
+    // Asynchronous payment - batched and deduplicated by the platform's PaymentEngine
+    // (kept off Payable, whose contract must not depend on the model package)
+    public CompletableFuture<PaymentResult> processPaymentAsync(double amount, String idempotencyKey) {
+        return platform().getPaymentEngine().submit(this, amount, idempotencyKey);
+    }
+
+    // Overloaded Method - the order id is the idempotency key, so retrying the same order is charged once;
+    // a failed attempt is not remembered, so a corrected retry is charged normally
+    public CompletableFuture<PaymentResult> processPaymentAsync(double amount) {
+        return processPaymentAsync(amount, orderId);
+    }
+
+    // Package-private steps shared by placeOrder and the asynchronous OrderPipeline
+    void admit(FoodDeliveryApp app) throws RestaurantClosedException {
+        AdmissionControl.Decision decision = tryAdmit(app);
+        if (decision != AdmissionControl.Decision.ADMITTED) throw restaurant.rejection(decision); // Shared stackless instance
+    }
+
+    AdmissionControl.Decision tryAdmit(FoodDeliveryApp app) { // Status code flavour for the asynchronous paths
+        AdmissionControl.Decision decision = app.getAdmissionControl().tryAdmit(this);
+        if (decision != AdmissionControl.Decision.ADMITTED) app.getMetrics().recordRejected();
+        return decision;
+    }
+
+    // Milliseconds until the kitchen expects the food to be ready - 0 if it is ready or there is no estimate
+    public long getMillisUntilReady() { return Math.max(0, estimatedReadyAt - System.currentTimeMillis()); }
+    public long getEstimatedReadyAt() { return estimatedReadyAt; }
+    void setEstimatedReadyAt(long epochMillis) { estimatedReadyAt = epochMillis; }
+
+    boolean holdsKitchenSlot() { return kitchenSlot; }
+    void setKitchenSlot(boolean held) { kitchenSlot = held; }
+
+    // Take the order out of the kitchen - completion, or an order abandoned after admission. Tickets still
+    // queued are dropped and the slot counted in Restaurant.activeOrders is given back, always together
+    synchronized void leaveKitchen() { // 'synchronized' - completion and abandonment may race
+        Kitchen kitchen = restaurant.kitchenIfCreated();
+        if (kitchen != null) kitchen.cancel(this); // Nothing left to cook - a no-op once every ticket is done
+        if (!kitchenSlot) return;
+        kitchenSlot = false;
+        restaurant.orderClosed();
+    }
+
+    // Undo placement for an order that will not go ahead (e.g. its payment failed): the partner no longer
+    // carries it and is freed if idle, and its tickets and kitchen slot are given back
+    void abandon(FoodDeliveryApp app) {
+        DeliveryPartner partner = deliveryPartner;
+        if (partner != null) {
+            deliveryPartner = null; // A later pickedUp() must not start a delivery timer for this order
+            app.getPartnerLifecycle().forget(this);
+            if (partner.finishOrder(this)) app.releasePartner(partner);
+        }
+        leaveKitchen();
+    }
+
+    // Every placement path (placeOrder, OrderPipeline, BatchingDispatcher) ends here, so events and metrics match
+    DeliveryPartner dispatch(FoodDeliveryApp app, boolean isPriority, long startNanos) {
+        markPlaced(app, isPriority);
+        DeliveryPartner partner = app.getAvailablePartner(restaurant); // Nearest partner, claimed atomically
+        if (partner != null) assignPartner(app, partner);
+        else OrderEvents.log(EventType.NO_PARTNER_AVAILABLE, id, 0);
+
+        OrderEvents.log(EventType.ORDER_PLACED, id, getTotalAmount()); // Printed asynchronously by the event log
+        if (isPriority) OrderEvents.log(EventType.PRIORITY_ASSIGNED, id, 0);
+        app.getMetrics().recordPlaceOrder(System.nanoTime() - startNanos, partner != null);
+        return partner;
+    }
+
+    void markPlaced(FoodDeliveryApp app, boolean isPriority) {
+        priority = isPriority;
+        if (pricing == null) applyPricing(app.getPricingRules()); // The bill is fixed when the order is placed
+        Kitchen kitchen = restaurant.kitchenIfCreated();
+        if (kitchen != null) { // Queued by priority - the estimate lets dispatch time the partner's arrival
+            long prepMillis = kitchen.enqueue(this, isPriority);
+            if (prepMillis > 0) estimatedReadyAt = System.currentTimeMillis() + prepMillis;
+        }
+        long now = System.currentTimeMillis();
+        app.getAnalytics().orderPlaced(this, now);
+        app.getRecommendations().orderPlaced(this, now); // Dishes ordered together - inline, a few row updates
+        OrderJournal journal = app.getJournal();
+        if (journal != null) journal.orderPlaced(this);
+    }
+
+    void assignPartner(FoodDeliveryApp app, DeliveryPartner partner) { // Partner must already be claimed
+        deliveryPartner = partner;
+        partner.assignOrder(this);
+        app.getPartnerLifecycle().assigned(this, partner); // Starts the pickup SLA timer
+        OrderJournal journal = app.getJournal();
+        if (journal != null) journal.partnerAssigned(this, partner);
+    }
+
+    boolean isPaymentSufficient(double amount) { return toPaise(amount) >= totalPaise; }
+
+    void recordPayment(double amount) {
+        restorePayment(amount);
+        platform().getAnalytics().orderPaid(this, System.currentTimeMillis());
+        OrderJournal journal = journal();
+        if (journal != null) journal.paymentReceived(this, amount);
+    }
+
+    // Platform the order belongs to - the restaurant's platform, or the singleton for unregistered restaurants
+    FoodDeliveryApp platform() {
+        FoodDeliveryApp app = restaurant == null ? null : restaurant.getPlatform();
+        return app != null ? app : FoodDeliveryApp.getInstance();
+    }
+
+    private OrderJournal journal() {
+        return restaurant == null ? null : platform().getJournal();
+    }
+
+    // Package-private restore methods - apply a change without journaling it again (used by replay)
+    void restoreItem(MenuItem item, long unitPaise, int quantity) {
+        int line = 0;
+        while (line < lineCount && (lineItems[line] != item || lineUnitPaise[line] != unitPaise)) line++; // Orders have few lines
+        if (line == lineCount) {
+            if (lineCount == lineItems.length) {
+                lineItems = Arrays.copyOf(lineItems, lineCount * 2);
+                lineQuantities = Arrays.copyOf(lineQuantities, lineCount * 2);
+                lineUnitPaise = Arrays.copyOf(lineUnitPaise, lineCount * 2);
+            }
+            lineItems[line] = item;
+            lineUnitPaise[line] = unitPaise;
+            lineCount++;
+        }
+        lineQuantities[line] += quantity;
+        unitCount += quantity;
+        if (pricing == null) { // Not priced yet - the running total is just the subtotal
+            subtotalPaise += unitPaise * quantity;
+            totalPaise = subtotalPaise;
+        } else {
+            reprice();
+        }
+    }
+
+    void restorePlaced(boolean isPriority) {
+        priority = isPriority;
+        if (!kitchenSlot) { // A replayed order was admitted before the restart - it still occupies the kitchen
+            kitchenSlot = true;
+            restaurant.orderOpened();
+        }
+    }
+
+    // Package-private - replay restores the bill exactly as it was computed, whatever today's rules are
+    void restoreBill(long discountPaise, long taxPaise, long deliveryFeePaise) {
+        pricing = PricingRules.NONE;
+        reprice();
+        this.discountPaise = discountPaise;
+        this.taxPaise = taxPaise;
+        this.deliveryFeePaise = deliveryFeePaise;
+        this.totalPaise = subtotalPaise - discountPaise + taxPaise + deliveryFeePaise;
+    }
+
+    void restorePayment(double amount) { paidAmount = amount; }
+
+    // Package-private - RevenueAnalytics bookkeeping, so each order is counted and booked at most once
+    synchronized void setCountedAt(long millis) { countedAt = millis; }
+    synchronized long takeCountedAt() {
+        long at = countedAt;
+        countedAt = 0;
+        return at;
+    }
+    synchronized boolean markPaid() {
+        if (paid) return false;
+        paid = true;
+        return true;
+    }
+
+    void restorePartner(DeliveryPartner partner, FoodDeliveryApp app) {
+        DeliveryPartner previous = deliveryPartner;
+        if (previous == partner) return; // Already restored (snapshot, then the same assignment replayed from the journal)
+        if (previous != null && previous != partner && previous.finishOrder(this)) app.releasePartner(previous); // Order was reassigned
+        partner.tryClaim(); // Partner is busy with this order again
+        partner.assignOrder(this);
+        deliveryPartner = partner;
+    }
+
+    void reassignPartner(DeliveryPartner partner) { deliveryPartner = partner; }
+
     // Getters (Encapsulation)
-    public List<MenuItem> getItems() { return items; }
+    public List<MenuItem> getItems() { return items; } // One entry per unit, read-only - prefer the line getters
+    public int getLineCount() { return lineCount; }
+    public MenuItem getLineItem(int line) { return lineItems[checkLine(line)]; }
+    public int getLineQuantity(int line) { return lineQuantities[checkLine(line)]; }
+    public long getLineUnitPaise(int line) { return lineUnitPaise[checkLine(line)]; }
+    public long getSubtotalPaise() { return subtotalPaise; }
+    public long getDiscountPaise() { return discountPaise; }
+    public long getTaxPaise() { return taxPaise; }
+    public long getDeliveryFeePaise() { return deliveryFeePaise; }
+    public long getTotalPaise() { return totalPaise; }
+    public long getMenuVersion() { return menu == null ? 0 : menu.getVersion(); } // 0 - no item added yet
     public String getOrderId() { return orderId; }
+    public long getId() { return id; }
+    public User getCustomer() { return customer; }
+    public Restaurant getRestaurant() { return restaurant; }
+    public DeliveryPartner getDeliveryPartner() { return deliveryPartner; }
+    public double getTotalAmount() { return totalPaise / 100.0; }
+    public boolean isPriority() { return priority; }
+    public double getPaidAmount() { return paidAmount; }
+    public LocalDateTime getOrderTime() { return orderTime; }
+    long getCreatedAtMillis() { return orderTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(); }
+
+    private int checkLine(int line) {
+        if (line < 0 || line >= lineCount) throw new IndexOutOfBoundsException("Line " + line);
+        return line;
+    }
+
+    // Inner class - the lines expanded to one MenuItem per unit, for callers that still iterate items
+    private final class UnitView extends AbstractList<MenuItem> {
+        @Override
+        public MenuItem get(int index) {
+            if (index < 0) throw new IndexOutOfBoundsException("Item " + index);
+            for (int line = 0; line < lineCount; line++) {
+                if (index < lineQuantities[line]) return lineItems[line];
+                index -= lineQuantities[line];
+            }
+            throw new IndexOutOfBoundsException("Item " + index);
+        }
+
+        @Override
+        public int size() { return unitCount; }
+
+        @Override
+        public Iterator<MenuItem> iterator() { // Walks the lines once - get(i) would rescan them for every unit
+            return new Iterator<MenuItem>() { // Anonymous inner class
+                private int line;
+                private int used; // Units of the current line already returned
+
+                @Override
+                public boolean hasNext() {
+                    while (line < lineCount && used == lineQuantities[line]) {
+                        line++;
+                        used = 0;
+                    }
+                    return line < lineCount;
+                }
+
+                @Override
+                public MenuItem next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    used++;
+                    return lineItems[line];
+                }
+            };
+        }
+    }
+
+    // 'static' methods to plug in a different id generator (e.g. one node id per server)
+    public static void setIdGenerator(IdGenerator generator) { idGenerator = generator; }
+    public static IdGenerator getIdGenerator() { return idGenerator; }
+
+    // 'static' method to turn a display id ("ORD...") back into the numeric id - returns 0 if it is not one
+    public static long parseOrderId(String orderId) {
+        if (orderId == null || !orderId.regionMatches(true, 0, "ORD", 0, 3)) return 0;
+        try {
+            return idGenerator.parse(orderId.substring(3));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package foodapp.model;
+
+import foodapp.util.EventLog;
+import foodapp.util.EventType;
+import foodapp.util.RotatingFileSink;
+import java.io.IOException;
+import java.nio.file.Path;
+
+// UTILITY CLASS - Process-wide EventLog for the order hot path ('final' class, private constructor, 'static' members)
+// Orders record primitive fields only; the text below is built later on the log's background thread
+
+public final class OrderEvents {
+
+    private static final EventLog LOG = new EventLog(8192, OrderEvents::format, EventLog.consoleSink()); // 'static final' - created once
+
+    private OrderEvents() { } // Private Constructor - prevents instantiation
+
+    // Package-private methods used by Order and FoodDeliveryApp
+    static void log(EventType type) { LOG.log(type); }
+    static void log(EventType type, long orderId, double amount) { LOG.log(type, orderId, amount); }
+
+    // Method to wait until every event logged so far has been printed
+    public static void flush() { LOG.flush(); }
+
+    // Method to send events to any sink (e.g. one that discards them while benchmarking)
+    public static void setSink(EventLog.Sink sink) { LOG.setSink(sink); }
+
+    // Method to send events to a size-rotated file instead of the console
+    public static void useRotatingFile(Path file, long maxBytes, int maxFiles) throws IOException {
+        LOG.setSink(new RotatingFileSink(file, maxBytes, maxFiles));
+    }
+
+    // Formatter - produces the same messages the order code used to print directly
+    private static void format(EventType type, long orderId, double amount, long timestampMillis, StringBuilder out) {
+        switch (type) {
+            case PLATFORM_LAUNCHED:
+                out.append("FoodDeliveryApp Platform Launched!");
+                break;
+            case ORDER_PLACED:
+                out.append("Order ORD").append(Order.getIdGenerator().format(orderId)).append(" placed! Total: ₹").append(amount);
+                break;
+            case PRIORITY_ASSIGNED:
+                out.append("Priority delivery assigned!");
+                break;
+            case ORDER_READY:
+                out.append("Order ORD").append(Order.getIdGenerator().format(orderId)).append(" is ready for pickup");
+                break;
+            case NO_PARTNER_AVAILABLE:
+                out.append("No delivery partner available!");
+                break;
+            case PAYMENT_SUCCEEDED:
+                out.append("Payment of ₹").append(amount).append(" successful!");
+                break;
+            case PICKUP_MISSED:
+                out.append("Order ORD").append(Order.getIdGenerator().format(orderId)).append(" missed its pickup - reassigning partner");
+                break;
+            case DELIVERY_LATE:
+                out.append("Order ORD").append(Order.getIdGenerator().format(orderId)).append(" is late for delivery!");
+                break;
+            case REPLAY_UNRESOLVED_ITEMS:
+                out.append("Journal replay: ").append((long) amount).append(" item records name dishes missing from their restaurant's menu");
+                break;
+            case BATCHING_ROUND_FAILED:
+                out.append("Batching round failed - ").append((long) amount).append(" orders retried in the next round");
+                break;
+            default:
+                out.append(type).append(' ').append(orderId).append(' ').append(amount);
+        }
+    }
+}
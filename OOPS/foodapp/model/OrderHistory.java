@@ -0,0 +1,56 @@
+package foodapp.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// RING BUFFER - A user's order history: the last few orders as objects, everything older as ids only
+// "Reorder my last meal" and "my last 10 orders" read the ring directly; an old order is an 8-byte id
+// that OrderStore.getCompleted() can resolve, so a long-time customer does not pin years of Order graphs
+
+public class OrderHistory {
+
+    private final Order[] recent; // Ring buffer - recent[head - 1] is the newest order
+    private int head; // Next slot to write
+    private int recentCount;
+    private long[] olderIds = new long[8]; // Ids pushed out of the ring, oldest first - grows by doubling
+    private int olderCount;
+
+    // Package-private Constructor - created by User with the ring size
+    OrderHistory(int capacity) {
+        this.recent = new Order[capacity];
+    }
+
+    // Package-private - O(1); the order pushed out of the ring is kept as its id
+    synchronized void add(Order order) {
+        if (recentCount == recent.length) {
+            if (olderCount == olderIds.length) olderIds = Arrays.copyOf(olderIds, olderCount * 2);
+            olderIds[olderCount++] = recent[head].getId();
+        } else {
+            recentCount++;
+        }
+        recent[head] = order;
+        head = (head + 1) % recent.length;
+    }
+
+    // Method to get up to n of the most recent orders, newest first - O(n), never touches older history
+    public synchronized List<Order> getRecent(int n) {
+        int count = Math.min(n, recentCount);
+        List<Order> newestFirst = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) newestFirst.add(recent[(head - i + recent.length) % recent.length]);
+        return newestFirst;
+    }
+
+    // Method to get the newest order (for "reorder last meal") - null if the user never ordered
+    public synchronized Order getLast() {
+        return recentCount == 0 ? null : recent[(head - 1 + recent.length) % recent.length];
+    }
+
+    // Method to get the ids of orders older than the ring, oldest first
+    public synchronized long[] getOlderIds() {
+        return Arrays.copyOf(olderIds, olderCount);
+    }
+
+    // Getter - total orders ever placed by the user
+    public synchronized int size() { return olderCount + recentCount; }
+}
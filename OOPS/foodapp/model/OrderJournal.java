@@ -0,0 +1,438 @@
+package foodapp.model;
+
+import foodapp.util.EventType;
+import foodapp.util.SnowflakeIdGenerator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// WRITE-AHEAD JOURNAL - Append-only, memory-mapped log of order events (creation, items, placement, payment, partner)
+// Record layout: [int length][int crc32][byte type][payload]; a record whose checksum does not match marks a torn tail
+// Segments are fixed-size files journal-00000001.log, journal-00000002.log ... replayed in order on startup
+
+public class OrderJournal implements AutoCloseable {
+
+    // 'enum' - when appended records are forced to disk
+    public enum FsyncPolicy {
+        EVERY_COMMIT, // Each append waits until it is on disk; concurrent appends share one force (group commit)
+        INTERVAL,     // A background thread forces the journal every few milliseconds
+        OS_DEFAULT    // The operating system decides when dirty pages are written
+    }
+
+    // Record types - 'static final' constants
+    static final byte CREATED = 1;
+    static final byte ITEM_ADDED = 2; // Unit price as exact integer paise, then the quantity
+    static final byte PLACED = 3;
+    static final byte PAID = 4;
+    static final byte PARTNER_ASSIGNED = 5;
+    static final byte COMPLETED = 6; // Delivered, or closed by FoodDeliveryApp.completeOrder without a delivery
+    static final byte CANCELLED = 7; // Placed but never going ahead - FoodDeliveryApp.cancelOrder
+
+    private static final int HEADER_BYTES = 8; // length + crc
+    private static final int INITIAL_RECORD_BYTES = 4096; // Per-thread scratch size - grown for larger records
+    private static final int MAX_STRING_BYTES = Short.MAX_VALUE; // Strings are stored with a 'short' length
+    private static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+    private static final long FLUSH_INTERVAL_MS = 5;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final FsyncPolicy policy;
+    private final ReentrantLock appendLock = new ReentrantLock(); // Held only while copying bytes into the mapping
+    private final Object syncLock = new Object(); // Serializes forces - waiting appenders piggyback on one force
+    private final ThreadLocal<ByteBuffer> scratch = ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_RECORD_BYTES));
+    private final ThreadLocal<CRC32> checksums = ThreadLocal.withInitial(CRC32::new);
+    private final ScheduledExecutorService flusher;
+
+    private FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private int segment;
+    private volatile long appended; // Logical end of the journal (segment * segmentBytes + offset)
+    private long durable; // Everything before this position is on disk (guarded by syncLock)
+    private long recoveredRecords;
+    private boolean tornTail; // Set by replaySegment when it stops at a damaged record
+    private long lastOrderId;
+    private long unresolvedItems; // Item records whose dish is no longer on the order's restaurant menu
+
+    // Private Constructor - use open() so recovery always runs first
+    private OrderJournal(Path directory, long segmentBytes, FsyncPolicy policy) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.policy = policy;
+        this.flusher = policy != FsyncPolicy.INTERVAL ? null : Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread t = new Thread(task, "journal-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // 'static' factory method - replays the journal into the app, truncates a torn tail and attaches the journal for new writes
+    public static OrderJournal open(Path directory, FsyncPolicy policy, FoodDeliveryApp app) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES, policy, app);
+    }
+
+    // Overloaded factory method - custom segment size
+    public static OrderJournal open(Path directory, long segmentBytes, FsyncPolicy policy, FoodDeliveryApp app) throws IOException {
+        Files.createDirectories(directory);
+        OrderJournal journal = new OrderJournal(directory, segmentBytes, policy);
+        Rebuilder rebuilder = new Rebuilder(app);
+        journal.recover(rebuilder);
+        journal.unresolvedItems = rebuilder.unresolvedItems;
+        if (rebuilder.unresolvedItems > 0)
+            OrderEvents.log(EventType.REPLAY_UNRESOLVED_ITEMS, 0, rebuilder.unresolvedItems); // Also kept in getUnresolvedItems()
+        if (Order.getIdGenerator() instanceof SnowflakeIdGenerator) // New orders must sort after the replayed ones
+            ((SnowflakeIdGenerator) Order.getIdGenerator()).advancePast(journal.lastOrderId);
+        if (journal.flusher != null) {
+            journal.flusher.scheduleWithFixedDelay(() -> journal.awaitDurable(journal.appended),
+                    FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+        app.setJournal(journal);
+        return journal;
+    }
+
+    // Getters - results of the last recovery
+    public long getRecoveredRecords() { return recoveredRecords; }
+    public long getLastOrderId() { return lastOrderId; } // Seed for SnowflakeIdGenerator so ids stay monotonic after a restart
+    public long getUnresolvedItems() { return unresolvedItems; } // Non-zero - some replayed orders are missing dishes
+
+    // Package-private record methods - called from Order
+    void orderCreated(Order order) {
+        User customer = order.getCustomer();
+        byte[] name = utf8(customer == null ? null : customer.getName());
+        byte[] phone = utf8(customer == null ? null : customer.getPhone());
+        byte[] address = utf8(customer == null ? null : customer.getAddress());
+        byte[] restaurant = utf8(order.getRestaurant().getName());
+        ByteBuffer b = begin(CREATED, order.getId(), 8 + size(name) + size(phone) + size(address) + size(restaurant));
+        b.putLong(order.getCreatedAtMillis());
+        putString(b, name);
+        putString(b, phone);
+        putString(b, address);
+        putString(b, restaurant);
+        append(b);
+    }
+
+    void itemAdded(Order order, MenuItem item, long unitPaise, int quantity) {
+        byte[] id = utf8(item.getId());
+        ByteBuffer b = begin(ITEM_ADDED, order.getId(), size(id) + 8 + 4);
+        putString(b, id);
+        b.putLong(unitPaise); // Price charged - the menu may have changed by the time the journal is replayed
+        b.putInt(quantity);
+        append(b);
+    }
+
+    void orderPlaced(Order order) {
+        ByteBuffer b = begin(PLACED, order.getId(), 1 + 3 * 8);
+        b.put((byte) (order.isPriority() ? 1 : 0));
+        b.putLong(order.getDiscountPaise()); // The bill as computed at placement
+        b.putLong(order.getTaxPaise());
+        b.putLong(order.getDeliveryFeePaise());
+        append(b);
+    }
+
+    void paymentReceived(Order order, double amount) {
+        ByteBuffer b = begin(PAID, order.getId(), 8);
+        b.putDouble(amount);
+        append(b);
+    }
+
+    void partnerAssigned(Order order, DeliveryPartner partner) {
+        byte[] name = utf8(partner.getName());
+        ByteBuffer b = begin(PARTNER_ASSIGNED, order.getId(), size(name));
+        putString(b, name);
+        append(b);
+    }
+
+    // Terminal records - replay drops the order instead of restoring it, so it takes no kitchen slot after a restart
+    void orderCompleted(Order order) {
+        append(begin(COMPLETED, order.getId(), 0));
+    }
+
+    void orderCancelled(Order order) {
+        append(begin(CANCELLED, order.getId(), 0));
+    }
+
+    // Method to force everything appended so far to disk
+    public void sync() {
+        awaitDurable(appended);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) flusher.shutdown();
+        sync();
+        appendLock.lock();
+        try {
+            channel.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // WRITE PATH
+    private ByteBuffer begin(byte type, long orderId, int payloadBytes) {
+        int length = 1 + 8 + payloadBytes;
+        if (HEADER_BYTES + length > segmentBytes) throw new IllegalArgumentException("Journal record of " + length + " bytes does not fit a segment");
+        ByteBuffer b = scratch.get();
+        if (b.capacity() < length) { // Rare - long names or addresses; the thread keeps the larger buffer
+            b = ByteBuffer.allocate(Math.max(length, b.capacity() * 2));
+            scratch.set(b);
+        }
+        b.clear();
+        b.put(type).putLong(orderId);
+        return b;
+    }
+
+    private void append(ByteBuffer record) {
+        record.flip();
+        CRC32 crc = checksums.get();
+        crc.reset();
+        crc.update(record.duplicate()); // Checksum is computed outside the lock
+        int length = record.remaining();
+        long end;
+        appendLock.lock();
+        try {
+            if (buffer.remaining() < HEADER_BYTES + length) roll();
+            buffer.putInt(length).putInt((int) crc.getValue()).put(record);
+            end = (long) segment * segmentBytes + buffer.position();
+            appended = end;
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal append failed", e);
+        } finally {
+            appendLock.unlock();
+        }
+        if (policy == FsyncPolicy.EVERY_COMMIT) awaitDurable(end);
+    }
+
+    // Group commit - the first waiter forces every record appended so far, later waiters find their record already durable
+    private void awaitDurable(long position) {
+        synchronized (syncLock) {
+            if (durable >= position) return;
+            long target = appended;
+            buffer.force();
+            durable = Math.max(durable, target);
+        }
+    }
+
+    private void roll() throws IOException { // Called with appendLock held
+        buffer.force(); // The old segment is complete and durable before the next one starts
+        channel.close();
+        openSegment(segment + 1, 0);
+    }
+
+    private void openSegment(int index, int position) throws IOException {
+        Path file = segmentPath(index);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(segmentBytes, channel.size());
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        mapped.position(position);
+        segment = index;
+        buffer = mapped;
+        appended = (long) index * segmentBytes + position;
+    }
+
+    // RECOVERY - sequential scan of every segment; the first bad checksum ends the journal
+    private void recover(Rebuilder rebuilder) throws IOException {
+        List<Path> segments = listSegments();
+        if (segments.isEmpty()) {
+            openSegment(1, 0);
+            durable = appended;
+            return;
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            int index = segmentIndex(segments.get(i));
+            boolean last = i == segments.size() - 1;
+            int tail;
+            boolean torn;
+            try (FileChannel ch = FileChannel.open(segments.get(i), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer data = ch.map(FileChannel.MapMode.READ_WRITE, 0, ch.size());
+                tail = replaySegment(data, rebuilder);
+                torn = tornTail;
+                if (torn) { // Zero the torn bytes so they can never be mistaken for records
+                    for (int p = tail; p < data.limit(); p++) {
+                        if (data.get(p) != 0) data.put(p, (byte) 0); // Skip clean pages - they stay untouched
+                    }
+                    data.force();
+                }
+            }
+            if (!torn && !last) continue; // Segment was closed by a roll - the next one follows
+            for (int j = i + 1; j < segments.size(); j++) Files.deleteIfExists(segments.get(j)); // Nothing after a tear is trusted
+            openSegment(index, tail);
+            break;
+        }
+        durable = appended;
+    }
+
+    // Replays every valid record and returns the offset just after the last one
+    private int replaySegment(MappedByteBuffer data, Rebuilder rebuilder) {
+        CRC32 crc = new CRC32();
+        tornTail = false;
+        while (data.remaining() >= HEADER_BYTES) {
+            int start = data.position();
+            int length = data.getInt();
+            int expected = data.getInt();
+            if (length == 0 && expected == 0) return start; // Unwritten space - the clean end of this segment
+            if (length < 0 || length > data.remaining()) {
+                tornTail = true;
+                return start;
+            }
+            ByteBuffer body = data.slice();
+            body.limit(length);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != expected) {
+                tornTail = true;
+                return start;
+            }
+            rebuilder.apply(body);
+            recoveredRecords++;
+            lastOrderId = Math.max(lastOrderId, rebuilder.lastOrderId);
+            data.position(start + HEADER_BYTES + length);
+        }
+        return data.position();
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().matches("journal-\\d{8}\\.log"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("journal-%08d.log", index));
+    }
+
+    private static int segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(8, 16));
+    }
+
+    // Strings are encoded before the record is started, so its exact size is known
+    private static byte[] utf8(String s) {
+        if (s == null) return null;
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) // Would wrap the 'short' length and corrupt the record
+            throw new IllegalArgumentException("Journal strings are limited to " + MAX_STRING_BYTES + " bytes: " + s.substring(0, 32) + "...");
+        return bytes;
+    }
+
+    private static int size(byte[] string) { return 2 + (string == null ? 0 : string.length); }
+
+    private static void putString(ByteBuffer b, byte[] bytes) {
+        if (bytes == null) {
+            b.putShort((short) -1);
+            return;
+        }
+        b.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer b) {
+        int length = b.getShort();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // 'static' nested class - turns replayed records back into Users, Orders and partner assignments
+    private static final class Rebuilder {
+        private final FoodDeliveryApp app;
+        private final Map<String, Restaurant> restaurants = new HashMap<>();
+        private final Map<String, DeliveryPartner> partners = new HashMap<>();
+        private final Map<String, User> users = new HashMap<>();
+        private final Map<Long, Order> orders = new HashMap<>();
+        private final Map<Restaurant, Map<String, MenuItem>> menus = new HashMap<>(); // Restaurant -> its dishes by id
+        long lastOrderId;
+        long unresolvedItems;
+
+        Rebuilder(FoodDeliveryApp app) {
+            this.app = app;
+            for (Restaurant r : app.getRestaurants()) restaurants.put(r.getName(), r);
+            for (DeliveryPartner p : app.getPartners()) partners.put(p.getName(), p);
+        }
+
+        void apply(ByteBuffer record) {
+            byte type = record.get();
+            long orderId = record.getLong();
+            lastOrderId = Math.max(lastOrderId, orderId);
+            if (type == CREATED) {
+                long createdAt = record.getLong();
+                String name = getString(record), phone = getString(record), address = getString(record);
+                Restaurant restaurant = restaurants.get(getString(record));
+                if (restaurant == null) return; // Restaurant no longer registered - skip its orders
+                if (app.getOrderStore().getActive(orderId) != null) return; // Already restored from a PlatformSnapshot
+                User customer = name == null ? null : users.computeIfAbsent(name + "|" + phone, k -> new User(name, phone, address));
+                LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(createdAt), ZoneId.systemDefault());
+                orders.put(orderId, new Order(orderId, customer, restaurant, time));
+                return;
+            }
+            Order order = orders.get(orderId);
+            if (order == null) {
+                order = app.getOrderStore().getActive(orderId); // Restored from a PlatformSnapshot - only later events apply
+                if (order == null || type == ITEM_ADDED || type == PLACED) return;
+            }
+            switch (type) {
+                case ITEM_ADDED:
+                    MenuItem item = menuItem(order.getRestaurant(), getString(record));
+                    if (item == null) {
+                        unresolvedItems++; // Counted, not silently dropped - the order's bill will be short
+                    } else {
+                        order.restoreItem(item, record.getLong(), record.getInt()); // Price charged, then quantity
+                    }
+                    break;
+                case PLACED:
+                    order.restorePlaced(record.get() == 1);
+                    order.restoreBill(record.getLong(), record.getLong(), record.getLong());
+                    if (order.getCustomer() != null) order.getCustomer().placeOrder(order, app);
+                    else app.addOrder(order);
+                    break;
+                case PAID:
+                    order.restorePayment(record.getDouble());
+                    break;
+                case PARTNER_ASSIGNED:
+                    DeliveryPartner partner = partners.get(getString(record));
+                    if (partner != null) order.restorePartner(partner, app);
+                    break;
+                case COMPLETED: // No journal is attached during replay, so these are not journaled a second time
+                    app.completeOrder(order);
+                    orders.remove(orderId);
+                    break;
+                case CANCELLED:
+                    app.cancelOrder(order);
+                    orders.remove(orderId);
+                    break;
+                default:
+                    break; // Unknown record type from a newer version - ignored
+            }
+        }
+
+        // Dishes are looked up on the order's own restaurant rather than the catalog: after a PlatformSnapshot
+        // load the catalog is still being filled in the background, while reading the menu decodes it on demand
+        private MenuItem menuItem(Restaurant restaurant, String id) {
+            Map<String, MenuItem> byId = menus.computeIfAbsent(restaurant, r -> {
+                Map<String, MenuItem> dishes = new HashMap<>();
+                for (MenuItem dish : r.getMenu()) dishes.put(dish.getId(), dish);
+                return dishes;
+            });
+            return byId.get(id);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package foodapp.model;
+
+import foodapp.exceptions.PaymentFailedException;
+import foodapp.util.VirtualThreads;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// PIPELINE PATTERN - Orders flow through admission -> dispatch -> payment -> persistence
+// Every stage has a bounded queue and its own workers; a full admission queue is reported back to the caller
+// instead of blocking it, and full downstream queues slow the upstream stage down (backpressure)
+
+public class OrderPipeline implements AutoCloseable { // 'AutoCloseable' allows try-with-resources
+
+    private final FoodDeliveryApp app;
+    private final int batchSize;
+    private final Stage admission;
+    private final Stage dispatch;
+    private final Stage payment;
+    private final Stage persistence;
+
+    // Default Constructor values - Constructor Chaining with 'this'
+    public OrderPipeline(FoodDeliveryApp app) {
+        this(app, 10_000, 256, 4);
+    }
+
+    // Parameterized Constructor - Initialization of the four stages (wired back to front)
+    public OrderPipeline(FoodDeliveryApp app, int queueCapacity, int batchSize, int workersPerStage) {
+        this.app = app;
+        this.batchSize = batchSize;
+        this.persistence = new Stage("persistence", queueCapacity, workersPerStage, null, this::persist);
+        this.payment = new Stage("payment", queueCapacity, workersPerStage, persistence, this::pay);
+        this.dispatch = new Stage("dispatch", queueCapacity, workersPerStage, payment, this::dispatch);
+        this.admission = new Stage("admission", queueCapacity, workersPerStage, dispatch, this::admit);
+    }
+
+    // Method to submit an order - never blocks; a saturated pipeline completes the future with REJECTED_OVERLOADED
+    public CompletableFuture<OrderResult> submit(Order order, boolean isPriority, double paymentAmount) {
+        Job job = new Job(order, isPriority, paymentAmount);
+        if (!admission.offer(job)) { // Never waits - false when full or stopped
+            job.result.complete(OrderResult.failed(order, admission.running
+                    ? OrderResult.Status.REJECTED_OVERLOADED : OrderResult.Status.SHUTDOWN));
+        }
+        return job.result;
+    }
+
+    // Backpressure signal - callers can slow down before they start getting rejections
+    public boolean isSaturated() {
+        return admission.queue.remainingCapacity() < admission.capacity / 10;
+    }
+
+    // Getter - orders currently waiting in any stage
+    public int getBacklog() {
+        return admission.queue.size() + dispatch.queue.size() + payment.queue.size() + persistence.queue.size();
+    }
+
+    // Stages are stopped front to back so every accepted order still reaches a result
+    @Override
+    public void close() {
+        admission.stop();
+        dispatch.stop();
+        payment.stop();
+        persistence.stop();
+    }
+
+    // STAGE HANDLERS - return true to forward the job to the next stage
+    private boolean admit(Job job) {
+        switch (job.order.tryAdmit(app)) { // Status code - no exception on the async path
+            case ADMITTED: job.admitted = true; return true;
+            case CLOSED: job.result.complete(OrderResult.failed(job.order, OrderResult.Status.RESTAURANT_CLOSED)); return false;
+            default: job.result.complete(OrderResult.failed(job.order, OrderResult.Status.RESTAURANT_BUSY)); return false;
+        }
+    }
+
+    private boolean dispatch(Job job) {
+        job.partner = job.order.dispatch(app, job.priority, job.submittedNanos); // Latency includes the queues
+        return true;
+    }
+
+    private boolean pay(Job job) {
+        try {
+            job.order.processPayment(job.paymentAmount); // Same path as a direct payment - metrics, event log and journal
+            return true;
+        } catch (PaymentFailedException e) {
+            drop(job, OrderResult.Status.PAYMENT_FAILED); // Give the partner and the kitchen slot back for the next order
+            return false;
+        }
+    }
+
+    private boolean persist(Job job) {
+        User customer = job.order.getCustomer();
+        if (customer != null) customer.placeOrder(job.order, app);
+        else app.addOrder(job.order);
+        job.result.complete(OrderResult.placed(job.order, job.partner));
+        return false; // Last stage
+    }
+
+    // Any job that will not reach persist() - gives back what admission and dispatch took, then reports why
+    private void drop(Job job, OrderResult.Status status) {
+        if (job.admitted) app.cancelOrder(job.order); // Kitchen slot, partner and kitchen tickets - and journaled
+        job.result.complete(OrderResult.failed(job.order, status));
+    }
+
+    // 'static' nested class - an order travelling through the pipeline
+    private static final class Job {
+        final Order order;
+        final boolean priority;
+        final double paymentAmount;
+        final CompletableFuture<OrderResult> result = new CompletableFuture<>();
+        DeliveryPartner partner;
+        final long submittedNanos = System.nanoTime(); // Start of the placement latency measurement
+        boolean admitted; // Holds a kitchen slot - set by the admission stage, read by later stages
+
+        Job(Order order, boolean priority, double paymentAmount) {
+            this.order = order;
+            this.priority = priority;
+            this.paymentAmount = paymentAmount;
+        }
+    }
+
+    // 'functional interface' - one handler per stage
+    @FunctionalInterface
+    private interface Handler {
+        boolean handle(Job job);
+    }
+
+    // INNER CLASS - non-static, so it can read the pipeline's batchSize
+    private final class Stage {
+        final String name;
+        final int capacity;
+        final BlockingQueue<Job> queue;
+        final Stage next;
+        final Handler handler;
+        final ExecutorService workers;
+        volatile boolean running = true;
+
+        Stage(String name, int capacity, int workerCount, Stage next, Handler handler) {
+            this.name = name;
+            this.capacity = capacity;
+            this.queue = new ArrayBlockingQueue<>(capacity); // Bounded - memory cannot grow without limit
+            this.next = next;
+            this.handler = handler;
+            this.workers = VirtualThreads.newExecutor("order-" + name);
+            for (int i = 0; i < workerCount; i++) workers.execute(this::work);
+        }
+
+        // Worker loop - takes a batch at a time so queue hand-offs are amortized
+        private void work() {
+            List<Job> batch = new ArrayList<>(batchSize);
+            try {
+                while (running || !queue.isEmpty()) {
+                    Job first = queue.poll(50, TimeUnit.MILLISECONDS);
+                    if (first == null) continue;
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    for (Job job : batch) process(job);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Restore the interrupt flag
+            }
+        }
+
+        private void process(Job job) throws InterruptedException {
+            try {
+                if (handler.handle(job) && next != null) next.queue.put(job); // put() waits when the next stage is full
+            } catch (RuntimeException e) {
+                if (job.admitted) app.cancelOrder(job.order);
+                job.result.completeExceptionally(e);
+            }
+        }
+
+        // 'synchronized' with stop() - a job is either queued before the stage stops (and drained) or refused
+        synchronized boolean offer(Job job) {
+            return running && queue.offer(job); // offer() returns false instead of waiting
+        }
+
+        void stop() {
+            synchronized (this) {
+                running = false;
+            }
+            workers.shutdown();
+            try {
+                workers.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            List<Job> left = new ArrayList<>(); // Only if the workers gave up - the queue is normally empty by now
+            queue.drainTo(left);
+            for (Job job : left) drop(job, OrderResult.Status.SHUTDOWN);
+        }
+    }
+}
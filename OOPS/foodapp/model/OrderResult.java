@@ -0,0 +1,33 @@
+package foodapp.model;
+
+// IMMUTABLE RESULT OBJECT - Outcome of an order submitted to the OrderPipeline (no exceptions on the async path)
+
+public final class OrderResult {
+
+    // 'enum' - a fixed set of named constants
+    public enum Status { PLACED, REJECTED_OVERLOADED, RESTAURANT_CLOSED, RESTAURANT_BUSY, PAYMENT_FAILED, SHUTDOWN }
+
+    private final Order order;
+    private final Status status;
+    private final DeliveryPartner partner; // null if no partner was free
+
+    // Private Constructor - instances are created through the 'static' factory methods below
+    private OrderResult(Order order, Status status, DeliveryPartner partner) {
+        this.order = order;
+        this.status = status;
+        this.partner = partner;
+    }
+
+    // 'static' factory methods
+    static OrderResult placed(Order order, DeliveryPartner partner) { return new OrderResult(order, Status.PLACED, partner); }
+    static OrderResult failed(Order order, Status status) { return new OrderResult(order, status, null); }
+
+    // Getters (Encapsulation)
+    public Order getOrder() { return order; }
+    public Status getStatus() { return status; }
+    public DeliveryPartner getPartner() { return partner; }
+    public boolean isPlaced() { return status == Status.PLACED; }
+
+    @Override
+    public String toString() { return order.getOrderId() + " " + status; }
+}
@@ -0,0 +1,186 @@
+package foodapp.model;
+
+import foodapp.util.LongIndex;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// TIERED STORAGE - Active orders stay on the heap as objects; completed orders are encoded into
+// fixed-width columns held off-heap (direct ByteBuffers), so the garbage collector never scans history
+// Cold rows are read through a reusable flyweight (CompletedOrderView) instead of being turned back into objects
+// Both tiers are hashed by order id, so finding any order is O(1) whether it is in flight or long delivered
+// The hot tier is also kept sorted by id, so a time range of active orders is a sub-map view, not a scan
+
+public class OrderStore {
+
+    private static final int ROWS_PER_SEGMENT = 65_536;
+    static final int LINE_BYTES = 16; // int item ref + int quantity + long unit price in paise
+
+    private final Map<Long, Order> hot = new ConcurrentHashMap<>(); // Active orders by id - O(1) add, lookup and removal
+    private final ConcurrentNavigableMap<Long, Order> hotById = new ConcurrentSkipListMap<>(); // Same orders sorted by id - O(log n) range queries
+    private final List<Segment> segments = new CopyOnWriteArrayList<>(); // Cold tier - readers never lock
+    private final LongIndex completedRows = new LongIndex(ROWS_PER_SEGMENT); // Order id -> segment * ROWS_PER_SEGMENT + row, written under 'this'
+    private final RefTable<Restaurant> restaurants = new RefTable<>(); // Object <-> int reference dictionaries
+    private final RefTable<User> customers = new RefTable<>();
+    private final RefTable<DeliveryPartner> partners = new RefTable<>();
+    private final RefTable<MenuItem> items = new RefTable<>();
+    private Segment current; // Segment being filled (guarded by 'this')
+
+    // Method to add an active order
+    public void add(Order order) {
+        hot.put(order.getId(), order);
+        hotById.put(order.getId(), order);
+    }
+
+    // Method to move a completed order to the cold tier - the Order object becomes garbage afterwards
+    public synchronized void complete(Order order) {
+        if (hot.remove(order.getId()) == null) return; // Unknown or already completed
+        hotById.remove(order.getId());
+        if (current == null || current.isFull()) {
+            current = new Segment(ROWS_PER_SEGMENT);
+            segments.add(current);
+        }
+        current.append(order, this);
+        completedRows.put(order.getId(), (long) (segments.size() - 1) * ROWS_PER_SEGMENT + current.rows - 1);
+    }
+
+    // Method to drop a cancelled order - it leaves the hot tier without a cold row, as it never happened
+    public void cancel(Order order) {
+        if (hot.remove(order.getId()) != null) hotById.remove(order.getId());
+    }
+
+    // Getters - hot tier
+    public Order getActive(long id) { return hot.get(id); }
+
+    // Method to list active orders with fromId <= id < toId, oldest first - O(log n + matches), ids are time-ordered
+    public List<Order> getActiveBetween(long fromId, long toId) {
+        if (fromId >= toId) return new ArrayList<>();
+        return new ArrayList<>(hotById.subMap(fromId, toId).values()); // Already in id order - no scan, no sort
+    }
+    public int getActiveCount() { return hot.size(); }
+
+    // Method to find a completed order by id - O(1), returns a new view on its row or null
+    public CompletedOrderView getCompleted(long id) {
+        long location = completedRows.get(id, -1);
+        if (location < 0) return null;
+        CompletedOrderView view = new CompletedOrderView(this);
+        view.moveTo(segments.get((int) (location / ROWS_PER_SEGMENT)), (int) (location % ROWS_PER_SEGMENT));
+        return view;
+    }
+
+    // Getter - number of orders in the cold tier
+    public long getCompletedCount() {
+        long total = 0;
+        for (Segment s : segments) total += s.rows;
+        return total;
+    }
+
+    // Method to visit completed orders with fromId <= id < toId; the same view object is reused for every row
+    // Segments whose id range does not overlap are skipped without touching their rows
+    public void forEachCompleted(long fromId, long toId, Consumer<CompletedOrderView> action) {
+        CompletedOrderView view = new CompletedOrderView(this);
+        for (Segment s : segments) {
+            int rows = s.rows; // Volatile read - rows below this count are fully written
+            if (rows == 0 || s.maxId < fromId || s.minId >= toId) continue;
+            for (int row = 0; row < rows; row++) {
+                long id = s.ids.getLong(row * 8);
+                if (id >= fromId && id < toId) {
+                    view.moveTo(s, row);
+                    action.accept(view);
+                }
+            }
+        }
+    }
+
+    // Package-private dictionary lookups used by CompletedOrderView
+    Restaurant restaurant(int ref) { return restaurants.get(ref); }
+    User customer(int ref) { return customers.get(ref); }
+    DeliveryPartner partner(int ref) { return partners.get(ref); }
+    MenuItem item(int ref) { return items.get(ref); }
+
+    // 'static' nested class - interns long-lived objects as small ints so a cold row holds no references
+    // ref() is only called with the store's lock held; get() is lock-free
+    private static final class RefTable<T> {
+        private final Map<T, Integer> refs = new ConcurrentHashMap<>();
+        private final List<T> values = new CopyOnWriteArrayList<>();
+
+        int ref(T value) {
+            if (value == null) return -1;
+            return refs.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        T get(int ref) { return ref < 0 ? null : values.get(ref); }
+    }
+
+    // 'static' nested class - ROWS_PER_SEGMENT completed orders stored column by column off-heap
+    static final class Segment {
+        final ByteBuffer ids;          // long per row
+        final ByteBuffer createdAt;    // long per row (epoch millis)
+        final ByteBuffer totalPaise;   // long per row
+        final ByteBuffer paidPaise;    // long per row
+        final ByteBuffer refs;         // 3 ints per row: restaurant, customer, partner
+        final ByteBuffer lineRange;    // 2 ints per row: first index in lines, line count
+        volatile ByteBuffer lines;     // LINE_BYTES per line item (item ref, quantity, unit paise), grows as needed
+        private int lineCount;
+        private final int capacity;
+        volatile int rows;
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            ids = ByteBuffer.allocateDirect(capacity * 8); // Direct buffer - memory outside the Java heap
+            createdAt = ByteBuffer.allocateDirect(capacity * 8);
+            totalPaise = ByteBuffer.allocateDirect(capacity * 8);
+            paidPaise = ByteBuffer.allocateDirect(capacity * 8);
+            refs = ByteBuffer.allocateDirect(capacity * 12);
+            lineRange = ByteBuffer.allocateDirect(capacity * 8);
+            lines = ByteBuffer.allocateDirect(capacity * LINE_BYTES * 2); // Room for two lines per order before growing
+        }
+
+        boolean isFull() { return rows == capacity; }
+
+        void append(Order order, OrderStore store) { // Called with the store's lock held
+            int row = rows;
+            ids.putLong(row * 8, order.getId());
+            createdAt.putLong(row * 8, order.getCreatedAtMillis());
+            totalPaise.putLong(row * 8, order.getTotalPaise());
+            paidPaise.putLong(row * 8, Math.round(order.getPaidAmount() * 100));
+            refs.putInt(row * 12, store.restaurants.ref(order.getRestaurant()));
+            refs.putInt(row * 12 + 4, store.customers.ref(order.getCustomer()));
+            refs.putInt(row * 12 + 8, store.partners.ref(order.getDeliveryPartner()));
+
+            int count = order.getLineCount();
+            ensureLineCapacity(lineCount + count);
+            lineRange.putInt(row * 8, lineCount);
+            lineRange.putInt(row * 8 + 4, count);
+            for (int i = 0; i < count; i++, lineCount++) {
+                lines.putInt(lineCount * LINE_BYTES, store.items.ref(order.getLineItem(i)));
+                lines.putInt(lineCount * LINE_BYTES + 4, order.getLineQuantity(i));
+                lines.putLong(lineCount * LINE_BYTES + 8, order.getLineUnitPaise(i));
+            }
+
+            minId = Math.min(minId, order.getId());
+            maxId = Math.max(maxId, order.getId());
+            rows = row + 1; // Volatile write publishes the row to readers
+        }
+
+        private void ensureLineCapacity(int needed) {
+            if (needed * LINE_BYTES <= lines.capacity()) return;
+            ByteBuffer bigger = ByteBuffer.allocateDirect(Math.max(needed * LINE_BYTES, lines.capacity() * 2));
+            ByteBuffer old = lines.duplicate();
+            old.position(0).limit(lineCount * LINE_BYTES);
+            bigger.put(old);
+            lines = bigger;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package foodapp.model;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// LOCK-FREE POOL of free Delivery Partners (Concurrency + Encapsulation)
+// Replaces the linear scan over all partners - a claim only touches the head of the free queue
+
+public class PartnerDispatcher {
+
+    private final Queue<DeliveryPartner> freePartners = new ConcurrentLinkedQueue<>(); // Non-blocking queue (CAS based)
+    private final AtomicInteger freeCount = new AtomicInteger(); // Approximate count of queued partners
+
+    // Method to add a newly registered partner to the pool
+    public void register(DeliveryPartner partner) {
+        if (partner.isAvailable()) offer(partner);
+    }
+
+    // Method to atomically claim a free partner - returns null if the pool is empty
+    // Stale entries (partners claimed elsewhere while queued) are discarded, so the cost is amortized O(1)
+    public DeliveryPartner claim() {
+        DeliveryPartner partner;
+        while ((partner = freePartners.poll()) != null) {
+            freeCount.decrementAndGet();
+            partner.leavePool();
+            if (partner.tryClaim()) return partner; // Compare-and-set: only one thread can win a partner
+        }
+        return null;
+    }
+
+    // Method to hand a partner back to the pool once it is free again
+    public void release(DeliveryPartner partner) {
+        release(partner, partner.getState());
+    }
+
+    // Overloaded Method - frees the partner only if it is still in the expected state (compare-and-set),
+    // so a release never overwrites a transition another thread made in the meantime
+    boolean release(DeliveryPartner partner, PartnerState expected) {
+        if (!partner.markAvailable(expected)) return false;
+        offer(partner);
+        return true;
+    }
+
+    // Getter - number of partners currently waiting in the pool
+    public int getFreeCount() { return Math.max(0, freeCount.get()); }
+
+    private void offer(DeliveryPartner partner) {
+        if (partner.enterPool()) { // A partner is queued at most once
+            freePartners.offer(partner);
+            freeCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package foodapp.model;
+
+import foodapp.util.EventType;
+import foodapp.util.HierarchicalTimingWheel;
+import foodapp.util.HierarchicalTimingWheel.Timeout;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// STATE MACHINE - Drives partners through ASSIGNED -> PICKED_UP -> delivered -> AVAILABLE
+// Pickup and delivery SLAs are timers on a shared hierarchical timing wheel; a partner that misses
+// the pickup SLA loses the order, which is handed to the next free partner automatically
+
+public class PartnerLifecycle implements AutoCloseable {
+
+    private final FoodDeliveryApp app;
+    private final long pickupSlaMillis;
+    private final long deliverySlaMillis;
+    private final HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(100); // 100ms resolution
+    private final Map<Order, Timeout> timers = new ConcurrentHashMap<>(); // Order -> its current SLA timer
+
+    // Package-private Constructor - one lifecycle per platform, created by FoodDeliveryApp
+    PartnerLifecycle(FoodDeliveryApp app, long pickupSlaMillis, long deliverySlaMillis) {
+        this.app = app;
+        this.pickupSlaMillis = pickupSlaMillis;
+        this.deliverySlaMillis = deliverySlaMillis;
+    }
+
+    // TRANSITION: (claimed) -> ASSIGNED - starts the pickup SLA
+    void assigned(Order order, DeliveryPartner partner) { // The pickup window opens when the food is expected to be ready
+        arm(order, order.getMillisUntilReady() + pickupSlaMillis, () -> onPickupTimeout(order, partner));
+    }
+
+    // TRANSITION: ASSIGNED -> PICKED_UP - swaps every carried order's pickup timer for a delivery timer
+    public boolean pickedUp(DeliveryPartner partner) {
+        List<Order> collected = partner.collectOrders(); // Atomic with dropUncollected - a late timeout cannot interleave
+        if (collected == null) return false;
+        for (Order order : collected) {
+            arm(order, deliverySlaMillis, () -> onDeliveryTimeout(order, partner));
+        }
+        return true;
+    }
+
+    // TRANSITION: PICKED_UP -> delivered - the order is completed; after the last order the partner is AVAILABLE again
+    public boolean delivered(DeliveryPartner partner, Order order) {
+        if (partner.getState() != PartnerState.PICKED_UP || !partner.hasOrder(order)) return false;
+        disarm(order);
+        app.completeOrder(order); // Journals the completion and frees the partner once it carries nothing
+        return true;
+    }
+
+    // Package-private - drops the SLA timer of an order completed outside delivered()
+    void forget(Order order) { disarm(order); }
+
+    // Getter - SLA timers currently pending
+    public int getPendingTimers() { return wheel.getPendingCount(); }
+
+    @Override
+    public void close() { wheel.close(); }
+
+    // TIMEOUTS - ignored if the order has moved on since the timer was armed
+    private void onPickupTimeout(Order order, DeliveryPartner partner) {
+        if (!partner.dropUncollected(order)) return; // Picked up (or reassigned) first - the timeout lost the race
+        DeliveryPartner replacement = app.getAvailablePartner(order.getRestaurant()); // Claimed before the late partner is released
+        // A partner with nothing left cannot be picked up, so it is still ASSIGNED and this compare-and-set wins
+        if (partner.finishOrder(order)) app.getDispatcher().release(partner, PartnerState.ASSIGNED);
+        OrderEvents.log(EventType.PICKUP_MISSED, order.getId(), 0);
+        reassign(order, replacement);
+    }
+
+    private void onDeliveryTimeout(Order order, DeliveryPartner partner) {
+        timers.remove(order);
+        if (partner.getState() == PartnerState.PICKED_UP && partner.hasOrder(order))
+            OrderEvents.log(EventType.DELIVERY_LATE, order.getId(), 0);
+    }
+
+    private void retry(Order order) {
+        if (order.getDeliveryPartner() != null) return;
+        reassign(order, app.getAvailablePartner(order.getRestaurant()));
+    }
+
+    private void reassign(Order order, DeliveryPartner replacement) {
+        order.reassignPartner(replacement);
+        if (replacement == null) { // Nobody free - try again after another pickup window
+            OrderEvents.log(EventType.NO_PARTNER_AVAILABLE, order.getId(), 0);
+            arm(order, pickupSlaMillis, () -> retry(order));
+            return;
+        }
+        replacement.assignOrder(order);
+        OrderJournal journal = app.getJournal();
+        if (journal != null) journal.partnerAssigned(order, replacement);
+        assigned(order, replacement);
+    }
+
+    private void arm(Order order, long delayMillis, Runnable task) {
+        Timeout previous = timers.put(order, wheel.schedule(task, delayMillis, TimeUnit.MILLISECONDS));
+        if (previous != null) previous.cancel(); // O(1) - the wheel drops it when its bucket comes up
+    }
+
+    private void disarm(Order order) {
+        Timeout t = timers.remove(order);
+        if (t != null) t.cancel();
+    }
+}
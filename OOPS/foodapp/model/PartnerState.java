@@ -0,0 +1,9 @@
+package foodapp.model;
+
+// ENUM - Lifecycle of a DeliveryPartner: AVAILABLE -> ASSIGNED -> PICKED_UP -> (delivered) -> AVAILABLE
+
+public enum PartnerState {
+    AVAILABLE, // Waiting in the dispatcher pool
+    ASSIGNED,  // Heading to the restaurant
+    PICKED_UP  // Carrying the food to the customer
+}
@@ -0,0 +1,193 @@
+package foodapp.model;
+
+import foodapp.util.EventType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// ASYNCHRONOUS PAYMENT ENGINE - Requests are deduplicated by idempotency key, coalesced into batches
+// and sent to a gateway; callers get a CompletableFuture, so in-flight payments do not each hold a thread
+
+public class PaymentEngine implements AutoCloseable {
+
+    // 'interface' nested in the class - a payment provider that charges a whole batch at once
+    public interface Gateway {
+        CompletableFuture<boolean[]> charge(List<Request> batch); // true = approved, one entry per request
+
+        default void close() { } // 'default' method - release threads or connections when the engine closes
+    }
+
+    private final Gateway gateway;
+    private final int maxBatchSize;
+    private final long idempotencyTtlMillis;
+    private final Queue<Request> pending = new ConcurrentLinkedQueue<>();
+    private final Map<String, Request> inFlight = new ConcurrentHashMap<>(); // Idempotency key -> pending or successful request
+    private final Queue<Request> expiry = new ConcurrentLinkedQueue<>(); // Successful keys in completion order
+    private final ScheduledExecutorService batcher;
+    private volatile boolean closed;
+
+    // Default Constructor values - a simulated gateway with 20ms latency and no declines
+    public PaymentEngine() {
+        this(new SimulatedGateway(20, 0.0, 42), 256, 5, 10 * 60_000);
+    }
+
+    // Parameterized Constructor - the batcher flushes every batchWindowMillis
+    public PaymentEngine(Gateway gateway, int maxBatchSize, long batchWindowMillis, long idempotencyTtlMillis) {
+        this.gateway = gateway;
+        this.maxBatchSize = maxBatchSize;
+        this.idempotencyTtlMillis = idempotencyTtlMillis;
+        this.batcher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread t = new Thread(task, "payment-batcher");
+            t.setDaemon(true);
+            return t;
+        });
+        batcher.scheduleWithFixedDelay(this::flush, batchWindowMillis, batchWindowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Method to request a payment - a retry with the same key returns the first attempt's future
+    // while it is pending or after it succeeded; failed attempts are forgotten so the caller can retry
+    public CompletableFuture<PaymentResult> submit(Order order, double amount, String idempotencyKey) {
+        if (closed) return CompletableFuture.failedFuture(new IllegalStateException("Payment engine is closed"));
+        Request request = new Request(order, amount, idempotencyKey, new CompletableFuture<>());
+        Request existing = inFlight.putIfAbsent(idempotencyKey, request);
+        if (existing != null) {
+            if (existing.order != order || existing.amount != amount) // Same key, different payment - a caller bug
+                return CompletableFuture.failedFuture(new IllegalArgumentException(
+                        "Idempotency key " + idempotencyKey + " was already used for ₹" + existing.amount));
+            return existing.result; // Duplicate - never charged twice
+        }
+
+        if (!order.isPaymentSufficient(amount)) { // Rejected locally without touching the gateway
+            complete(request, PaymentResult.Status.INSUFFICIENT_AMOUNT);
+            return request.result;
+        }
+        pending.add(request);
+        if (closed && pending.remove(request)) complete(request, PaymentResult.Status.DECLINED); // Raced close() - never sent
+        return request.result;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        batcher.shutdown();
+        flush();
+        gateway.close();
+    }
+
+    // Batcher tick - drain up to maxBatchSize requests per gateway call until the queue is empty
+    private void flush() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        Request r;
+        while ((r = pending.poll()) != null) {
+            batch.add(r);
+            if (batch.size() == maxBatchSize) {
+                send(batch);
+                batch = new ArrayList<>(maxBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) send(batch);
+        evictExpiredKeys();
+    }
+
+    private void send(List<Request> batch) {
+        CompletableFuture<boolean[]> answer;
+        try {
+            answer = gateway.charge(batch);
+        } catch (RuntimeException e) { // A throwing gateway must not cancel the batcher or strand the batch
+            answer = CompletableFuture.failedFuture(e);
+        }
+        answer.whenComplete((approved, error) -> { // Runs when the gateway answers - no thread waits for it
+            boolean answered = error == null && approved != null && approved.length == batch.size(); // Else nobody is approved
+            for (int i = 0; i < batch.size(); i++) {
+                boolean ok = answered && approved[i];
+                complete(batch.get(i), ok ? PaymentResult.Status.SUCCEEDED : PaymentResult.Status.DECLINED);
+            }
+        });
+    }
+
+    private void complete(Request request, PaymentResult.Status status) {
+        if (status == PaymentResult.Status.SUCCEEDED) {
+            request.order.recordPayment(request.amount);
+            OrderEvents.log(EventType.PAYMENT_SUCCEEDED, request.order.getId(), request.amount);
+            request.completedAt = System.currentTimeMillis(); // Only charges are remembered for the TTL
+            expiry.add(request);
+        } else {
+            inFlight.remove(request.idempotencyKey, request); // Forget failures - a corrected retry must not get them back
+        }
+        request.order.platform().getMetrics().recordPayment(System.nanoTime() - request.submittedNanos,
+                status == PaymentResult.Status.SUCCEEDED);
+        request.result.complete(new PaymentResult(request.idempotencyKey, request.order.getId(), request.amount, status));
+    }
+
+    private void evictExpiredKeys() {
+        long cutoff = System.currentTimeMillis() - idempotencyTtlMillis;
+        Request oldest;
+        while ((oldest = expiry.peek()) != null && oldest.completedAt < cutoff) {
+            expiry.poll();
+            inFlight.remove(oldest.idempotencyKey, oldest);
+        }
+    }
+
+    // 'static' nested class - one payment waiting for the gateway
+    public static final class Request {
+        private final Order order;
+        private final double amount;
+        private final String idempotencyKey;
+        private final CompletableFuture<PaymentResult> result;
+        private final long submittedNanos = System.nanoTime(); // Start of the payment latency measurement
+        private volatile long completedAt;
+
+        Request(Order order, double amount, String idempotencyKey, CompletableFuture<PaymentResult> result) {
+            this.order = order;
+            this.amount = amount;
+            this.idempotencyKey = idempotencyKey;
+            this.result = result;
+        }
+
+        public double getAmount() { return amount; }
+        public String getIdempotencyKey() { return idempotencyKey; }
+    }
+
+    // 'static' nested class - local stand-in for a real provider: answers each batch after a fixed latency
+    // and declines a fixed share of requests (seeded, so runs are repeatable)
+    public static final class SimulatedGateway implements Gateway {
+        private final long latencyMillis;
+        private final double declineRate;
+        private final SplittableRandom random;
+        private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread t = new Thread(task, "payment-gateway");
+            t.setDaemon(true);
+            return t;
+        });
+
+        public SimulatedGateway(long latencyMillis, double declineRate, long seed) {
+            this.latencyMillis = latencyMillis;
+            this.declineRate = declineRate;
+            this.random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public CompletableFuture<boolean[]> charge(List<Request> batch) {
+            boolean[] approved = new boolean[batch.size()];
+            synchronized (random) { // SplittableRandom is not thread-safe
+                for (int i = 0; i < approved.length; i++) approved[i] = random.nextDouble() >= declineRate;
+            }
+            CompletableFuture<boolean[]> answer = new CompletableFuture<>();
+            timer.schedule(() -> answer.complete(approved), latencyMillis, TimeUnit.MILLISECONDS); // Injected latency
+            return answer;
+        }
+
+        @Override
+        public void close() {
+            timer.shutdown(); // Answers already scheduled are still delivered
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package foodapp.model;
+
+// IMMUTABLE RESULT OBJECT - Outcome of an asynchronous payment (a value, not an exception, on the hot path)
+
+public final class PaymentResult {
+
+    // 'enum' - a fixed set of named constants
+    public enum Status { SUCCEEDED, INSUFFICIENT_AMOUNT, DECLINED }
+
+    private final String idempotencyKey;
+    private final long orderId;
+    private final double amount;
+    private final Status status;
+
+    // Package-private Constructor - results are only created by PaymentEngine
+    PaymentResult(String idempotencyKey, long orderId, double amount, Status status) {
+        this.idempotencyKey = idempotencyKey;
+        this.orderId = orderId;
+        this.amount = amount;
+        this.status = status;
+    }
+
+    // Getters (Encapsulation)
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public long getOrderId() { return orderId; }
+    public double getAmount() { return amount; }
+    public Status getStatus() { return status; }
+    public boolean isSuccessful() { return status == Status.SUCCEEDED; }
+
+    @Override
+    public String toString() { return idempotencyKey + " " + status + " ₹" + amount; }
+}
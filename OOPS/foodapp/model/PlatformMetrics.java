@@ -0,0 +1,176 @@
+package foodapp.model;
+
+import foodapp.util.EventLog;
+import foodapp.util.LatencyHistogram;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// OBSERVER (Metrics) - Always-on instrumentation for one platform: latency histograms and counters are
+// updated on the hot path (lock-free, allocation-free); gauges are computed only when someone reads them
+// Exposed as a JMX MBean (foodapp:type=PlatformMetrics,region=...) and optionally dumped periodically
+
+public class PlatformMetrics implements PlatformMetricsMBean, AutoCloseable {
+
+    private final FoodDeliveryApp app;
+    private final LatencyHistogram placeOrderLatency = new LatencyHistogram();
+    private final LatencyHistogram partnerClaimLatency = new LatencyHistogram();
+    private final LatencyHistogram paymentLatency = new LatencyHistogram();
+    private final LongAdder ordersPlaced = new LongAdder(); // LongAdder - striped counter, cheap under contention
+    private final LongAdder ordersWithoutPartner = new LongAdder();
+    private final LongAdder ordersRejected = new LongAdder();
+    private final LongAdder partnerClaims = new LongAdder();
+    private final LongAdder partnerClaimMisses = new LongAdder();
+    private final LongAdder paymentsSucceeded = new LongAdder();
+    private final LongAdder paymentsFailed = new LongAdder();
+    private ObjectName name; // Set once registered with the platform MBean server
+    private ScheduledExecutorService reporter; // Periodic snapshot dump, null until started
+
+    // Package-private Constructor - one per FoodDeliveryApp
+    PlatformMetrics(FoodDeliveryApp app) {
+        this.app = app;
+    }
+
+    // Package-private recording methods - called with System.nanoTime() deltas
+    void recordPlaceOrder(long nanos, boolean gotPartner) {
+        placeOrderLatency.record(nanos);
+        ordersPlaced.increment();
+        if (!gotPartner) ordersWithoutPartner.increment();
+    }
+
+    void recordRejected() { ordersRejected.increment(); }
+
+    void recordPartnerClaim(long nanos, boolean claimed) {
+        partnerClaimLatency.record(nanos);
+        if (claimed) partnerClaims.increment();
+        else partnerClaimMisses.increment();
+    }
+
+    void recordPayment(long nanos, boolean succeeded) {
+        paymentLatency.record(nanos);
+        if (succeeded) paymentsSucceeded.increment();
+        else paymentsFailed.increment();
+    }
+
+    // Method to expose these metrics through the platform MBean server - returns false if JMX is unavailable
+    // or another instance already holds the name (e.g. a second platform for the same region)
+    public synchronized boolean register() {
+        if (name != null) return true;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName candidate = new ObjectName("foodapp:type=PlatformMetrics,region=" + ObjectName.quote(app.getRegion()));
+            server.registerMBean(this, candidate); // InstanceAlreadyExistsException if the name is taken
+            name = candidate; // Only the owner unregisters it in close()
+            return true;
+        } catch (JMException | SecurityException e) {
+            return false; // Metrics keep working in-process without JMX
+        }
+    }
+
+    // Method to write snapshot() to the sink every 'period' on a background thread
+    public synchronized void startReporting(long period, TimeUnit unit, EventLog.Sink sink) {
+        if (reporter != null) reporter.shutdownNow();
+        reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread t = new Thread(task, "metrics-reporter-" + app.getRegion());
+            t.setDaemon(true); // Never keeps the JVM alive
+            return t;
+        });
+        reporter.scheduleAtFixedRate(() -> {
+            try {
+                sink.write(snapshot());
+                sink.flush();
+            } catch (IOException e) {
+                // Reporting is best effort - the next period tries again
+            }
+        }, period, period, unit);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (reporter != null) reporter.shutdownNow();
+        reporter = null;
+        if (name != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            } catch (JMException e) {
+                // Already gone
+            }
+            name = null;
+        }
+    }
+
+    // Getters - raw histogram snapshots for in-process consumers (benchmarks, load tests)
+    public LatencyHistogram.Snapshot getPlaceOrderLatency() { return placeOrderLatency.snapshot(); }
+    public LatencyHistogram.Snapshot getPartnerClaimLatency() { return partnerClaimLatency.snapshot(); }
+    public LatencyHistogram.Snapshot getPaymentLatency() { return paymentLatency.snapshot(); }
+
+    // Implementing PlatformMetricsMBean - counters
+    @Override public long getOrdersPlaced() { return ordersPlaced.sum(); }
+    @Override public long getOrdersWithoutPartner() { return ordersWithoutPartner.sum(); }
+    @Override public long getOrdersRejected() { return ordersRejected.sum(); }
+    @Override public long getPartnerClaims() { return partnerClaims.sum(); }
+    @Override public long getPartnerClaimMisses() { return partnerClaimMisses.sum(); }
+    @Override public long getPaymentsSucceeded() { return paymentsSucceeded.sum(); }
+    @Override public long getPaymentsFailed() { return paymentsFailed.sum(); }
+
+    // Implementing PlatformMetricsMBean - gauges, O(partners) / O(restaurants) per read, nothing on the hot path
+    @Override
+    public int getAvailablePartners() {
+        int count = 0;
+        for (DeliveryPartner p : app.getPartners()) if (p.isAvailable()) count++;
+        return count;
+    }
+
+    @Override
+    public int getActiveOrders() { return app.getOrderStore().getActiveCount(); }
+
+    @Override
+    public int getOpenRestaurants() {
+        int count = 0;
+        for (Restaurant r : app.getRestaurants()) if (r.isOpen()) count++;
+        return count;
+    }
+
+    @Override
+    public Map<String, Integer> getActiveOrdersByRestaurant() {
+        Map<String, Integer> byName = new HashMap<>();
+        for (Restaurant r : app.getRestaurants()) byName.merge(r.getName(), r.getActiveOrderCount(), Integer::sum);
+        return byName;
+    }
+
+    // Implementing PlatformMetricsMBean - latency percentiles
+    @Override public double getPlaceOrderP50Micros() { return micros(placeOrderLatency, 50); }
+    @Override public double getPlaceOrderP99Micros() { return micros(placeOrderLatency, 99); }
+    @Override public double getPlaceOrderMaxMicros() { return micros(placeOrderLatency, 100); }
+    @Override public double getPartnerClaimP50Micros() { return micros(partnerClaimLatency, 50); }
+    @Override public double getPartnerClaimP99Micros() { return micros(partnerClaimLatency, 99); }
+    @Override public double getPartnerClaimMaxMicros() { return micros(partnerClaimLatency, 100); }
+    @Override public double getPaymentP50Micros() { return micros(paymentLatency, 50); }
+    @Override public double getPaymentP99Micros() { return micros(paymentLatency, 99); }
+    @Override public double getPaymentMaxMicros() { return micros(paymentLatency, 100); }
+
+    @Override
+    public String snapshot() {
+        return "[metrics " + app.getRegion() + "] orders placed=" + getOrdersPlaced()
+                + " noPartner=" + getOrdersWithoutPartner() + " rejected=" + getOrdersRejected()
+                + " | payments ok=" + getPaymentsSucceeded() + " failed=" + getPaymentsFailed()
+                + " | partners available=" + getAvailablePartners() + " activeOrders=" + getActiveOrders()
+                + " openRestaurants=" + getOpenRestaurants()
+                + "\n  placeOrder   " + placeOrderLatency.snapshot()
+                + "\n  partnerClaim " + partnerClaimLatency.snapshot()
+                + "\n  payment      " + paymentLatency.snapshot();
+    }
+
+    private static double micros(LatencyHistogram histogram, double percent) {
+        LatencyHistogram.Snapshot s = histogram.snapshot();
+        return (percent >= 100 ? s.getMax() : s.valueAtPercentile(percent)) / 1e3;
+    }
+}
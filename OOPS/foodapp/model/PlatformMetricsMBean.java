@@ -0,0 +1,38 @@
+package foodapp.model;
+
+import java.util.Map;
+
+// INTERFACE - Management interface of PlatformMetrics (JMX Standard MBean naming: <Class>MBean)
+// Every getter becomes a read-only attribute in JConsole / VisualVM; snapshot() becomes an operation
+
+public interface PlatformMetricsMBean {
+
+    // Throughput counters (since start)
+    long getOrdersPlaced();
+    long getOrdersWithoutPartner();
+    long getOrdersRejected();
+    long getPartnerClaims();
+    long getPartnerClaimMisses();
+    long getPaymentsSucceeded();
+    long getPaymentsFailed();
+
+    // Gauges (computed when read)
+    int getAvailablePartners();
+    int getActiveOrders();
+    int getOpenRestaurants();
+    Map<String, Integer> getActiveOrdersByRestaurant();
+
+    // Latency percentiles in microseconds
+    double getPlaceOrderP50Micros();
+    double getPlaceOrderP99Micros();
+    double getPlaceOrderMaxMicros();
+    double getPartnerClaimP50Micros();
+    double getPartnerClaimP99Micros();
+    double getPartnerClaimMaxMicros();
+    double getPaymentP50Micros();
+    double getPaymentP99Micros();
+    double getPaymentMaxMicros();
+
+    // Operation - the same text the periodic reporter writes
+    String snapshot();
+}
@@ -0,0 +1,610 @@
+package foodapp.model;
+
+import foodapp.util.SnowflakeIdGenerator;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+// BINARY SNAPSHOT - restaurants, menus (with ratings), partners and open orders in one file, for a fast cold start
+// Layout: a fixed header holding a table of four sections (offset, length, CRC32C), then the sections.
+// Writing only reads copy-on-write lists, immutable menu versions and atomic counters, so it runs in the background
+// while orders keep flowing (a fuzzy checkpoint - no global lock). It goes to a temp file that is renamed over the old one.
+// Loading maps the file and decodes restaurants, partners and open orders up front; each menu is decoded by the
+// first reader that needs it, and a background thread decodes the rest and adds every dish to the catalog, search
+// and top-rated indexes. Load the snapshot before OrderJournal.open - replay then skips orders the snapshot
+// already restored and applies only their later events
+
+public final class PlatformSnapshot {
+
+    private static final int MAGIC = 0x46445350; // "FDSP"
+    private static final int VERSION = 1;
+    private static final int RESTAURANTS = 0, MENUS = 1, PARTNERS = 2, ORDERS = 3, SECTIONS = 4; // Section table order
+    private static final String[] SECTION_NAMES = { "restaurants", "menus", "partners", "orders" };
+    private static final int HEADER_BYTES = 4 + 4 + 8 + SECTIONS * 20 + 4; // magic, version, written at, table, header crc
+    private static final int SCRATCH_BYTES = 64 * 1024; // Initial encode buffer - doubled whenever a record does not fit
+
+    // Flag bits - 'static final' constants
+    private static final byte HAS_LOCATION = 1, CLOSED = 2; // Restaurants and partners
+    private static final byte VEG = 1, NON_VEG = 2, RATED = 8; // Dishes - kind in the low bits
+    private static final byte PRIORITY = 1, HAS_CUSTOMER = 2, CUSTOMER_LOCATION = 4, PLACED = 8; // Orders
+
+    private final long writtenAt;
+    private final MenuBlock[] menus; // One per restaurant in the file - null where the restaurant was skipped
+    private final int partnerCount;
+    private final int orderCount;
+    private final int skippedOrders;
+    private final CountDownLatch menusLoaded = new CountDownLatch(1);
+
+    // Private Constructor - use load()
+    private PlatformSnapshot(long writtenAt, MenuBlock[] menus, int partnerCount, int orderCount, int skippedOrders) {
+        this.writtenAt = writtenAt;
+        this.menus = menus;
+        this.partnerCount = partnerCount;
+        this.orderCount = orderCount;
+        this.skippedOrders = skippedOrders;
+    }
+
+    // 'static' method - writes a snapshot of the app to 'file', replacing it atomically; returns the file size
+    public static long write(FoodDeliveryApp app, Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            long size;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                Output out = new Output(channel);
+                encodeSections(app, out);
+                channel.write(out.header(), 0);
+                channel.force(true); // On disk before it can replace the previous snapshot
+                size = out.position;
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return size;
+        } finally {
+            Files.deleteIfExists(temp); // Only left behind if something failed
+        }
+    }
+
+    // 'static' factory method - writes a snapshot every 'periodMillis' on a background thread until closed
+    public static Checkpointer schedule(FoodDeliveryApp app, Path file, long periodMillis) {
+        if (periodMillis <= 0) throw new IllegalArgumentException("Period must be positive: " + periodMillis);
+        return new Checkpointer(app, file, periodMillis);
+    }
+
+    // 'static' factory method - maps the snapshot and restores it into the app; returns as soon as restaurants,
+    // partners and open orders are in place, while menus are decoded and indexed in the background
+    public static PlatformSnapshot load(Path file, FoodDeliveryApp app) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) throw damaged(file, "header");
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("Snapshot larger than 2 GB: " + file);
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // The mapping outlives the channel
+        }
+        ByteBuffer header = mapped.slice(0, HEADER_BYTES);
+        if (header.getInt() != MAGIC) throw new IOException("Not a platform snapshot: " + file);
+        int version = header.getInt();
+        if (version != VERSION) throw new IOException("Unsupported snapshot version " + version + ": " + file);
+        if (crc32c(mapped.slice(0, HEADER_BYTES - 4)) != header.getInt(HEADER_BYTES - 4)) throw damaged(file, "header");
+        long writtenAt = header.getLong();
+        ByteBuffer[] sections = new ByteBuffer[SECTIONS];
+        for (int s = 0; s < SECTIONS; s++) {
+            long offset = header.getLong(), length = header.getLong();
+            int crc = header.getInt();
+            if (offset < HEADER_BYTES || length < 0 || offset + length > mapped.capacity()) throw damaged(file, SECTION_NAMES[s]);
+            sections[s] = mapped.slice((int) offset, (int) length);
+            if (s != MENUS && crc32c(sections[s]) != crc) throw damaged(file, SECTION_NAMES[s]); // Menus are checked block by block
+        }
+
+        MenuBlock[] menus = decodeRestaurants(sections[RESTAURANTS], sections[MENUS], app, file);
+        DeliveryPartner[] partners = decodePartners(sections[PARTNERS], app);
+        int[] restored = decodeOrders(sections[ORDERS], menus, partners, app); // Decodes (not indexes) the menus these orders use
+        PlatformSnapshot snapshot = new PlatformSnapshot(writtenAt, menus, partners.length, restored[0], restored[1]);
+        snapshot.loadMenusInBackground();
+        return snapshot;
+    }
+
+    // Getters - what the loaded snapshot contained
+    public Instant getWrittenAt() { return Instant.ofEpochMilli(writtenAt); }
+    public int getRestaurantCount() {
+        int count = 0;
+        for (MenuBlock block : menus) if (block != null) count++;
+        return count;
+    }
+    public int getPartnerCount() { return partnerCount; }
+    public int getOrderCount() { return orderCount; }
+    public int getSkippedOrderCount() { return skippedOrders; } // Already active, or their restaurant or dishes were skipped
+    public boolean isMenuLoadComplete() { return menusLoaded.getCount() == 0; }
+    public int getDamagedMenuCount() {
+        int count = 0;
+        for (MenuBlock block : menus) if (block != null && block.damaged) count++;
+        return count;
+    }
+
+    // Method to wait until every menu is decoded and indexed (search, catalog and top-rated lists are complete)
+    public boolean awaitMenus(long timeout, TimeUnit unit) throws InterruptedException {
+        return menusLoaded.await(timeout, unit);
+    }
+
+    private void loadMenusInBackground() {
+        Thread loader = new Thread(() -> {
+            try {
+                for (MenuBlock block : menus) if (block != null) block.index();
+            } finally {
+                menusLoaded.countDown();
+            }
+        }, "snapshot-menus");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    // ---- Writing ----
+
+    private static void encodeSections(FoodDeliveryApp app, Output out) throws IOException {
+        List<Restaurant> restaurants = new ArrayList<>(app.getRestaurants()); // Copy-on-write list - a stable view
+        List<DeliveryPartner> partners = new ArrayList<>(app.getPartners());
+        int n = restaurants.size();
+        MenuSnapshot[] versions = new MenuSnapshot[n]; // The menu version each restaurant is written with
+        long[] menuOffsets = new long[n];
+        int[] menuBytes = new int[n], menuCrcs = new int[n];
+        ByteBuffer scratch = ByteBuffer.allocate(SCRATCH_BYTES);
+
+        out.begin();
+        for (int i = 0; i < n; i++) {
+            MenuSnapshot menu = versions[i] = restaurants.get(i).getMenuSnapshot();
+            scratch = encode(scratch, b -> encodeMenu(b, menu));
+            menuOffsets[i] = out.position - out.sectionStart;
+            menuBytes[i] = scratch.remaining();
+            menuCrcs[i] = crc32c(scratch);
+            out.write(scratch);
+        }
+        out.end(MENUS);
+
+        scratch = encode(scratch, b -> {
+            b.putInt(n);
+            for (int i = 0; i < n; i++) {
+                Restaurant r = restaurants.get(i);
+                putString(b, r.getName());
+                putString(b, r.getAddress());
+                GeoPoint location = r.getLocation();
+                b.put((byte) ((location != null ? HAS_LOCATION : 0) | (r.isOpen() ? 0 : CLOSED)));
+                if (location != null) b.putDouble(location.getLatitude()).putDouble(location.getLongitude());
+                b.putInt(r.getKitchenCapacity());
+                b.putLong(menuOffsets[i]).putInt(menuBytes[i]).putInt(versions[i].size()).putInt(menuCrcs[i]);
+            }
+        });
+        out.section(RESTAURANTS, scratch);
+
+        scratch = encode(scratch, b -> {
+            b.putInt(partners.size());
+            for (DeliveryPartner p : partners) {
+                putString(b, p.getName());
+                GeoPoint location = p.getLocation();
+                b.put(location != null ? HAS_LOCATION : 0);
+                if (location != null) b.putDouble(location.getLatitude()).putDouble(location.getLongitude());
+            }
+        });
+        out.section(PARTNERS, scratch);
+
+        Map<Restaurant, Integer> restaurantIndex = new IdentityHashMap<>();
+        for (int i = 0; i < n; i++) restaurantIndex.put(restaurants.get(i), i);
+        Map<DeliveryPartner, Integer> partnerIndex = new IdentityHashMap<>();
+        for (int i = 0; i < partners.size(); i++) partnerIndex.put(partners.get(i), i);
+        List<Order> open = app.getOrderStore().getActiveBetween(Long.MIN_VALUE, Long.MAX_VALUE);
+        scratch = encode(scratch, b -> {
+            int countAt = b.position();
+            b.putInt(0);
+            int count = 0;
+            for (Order order : open) {
+                Integer r = restaurantIndex.get(order.getRestaurant());
+                if (r != null && encodeOrder(b, order, r, versions[r], partnerIndex)) count++;
+            }
+            b.putInt(countAt, count);
+        });
+        out.section(ORDERS, scratch);
+    }
+
+    // Block layout: one int offset per dish (from the block start), then the dishes - so one dish can be decoded alone
+    private static void encodeMenu(ByteBuffer b, MenuSnapshot menu) {
+        if (menu.size() * 4 > b.limit()) throw new BufferOverflowException(); // position() would throw a different exception - grow instead
+        b.position(menu.size() * 4);
+        for (int i = 0; i < menu.size(); i++) {
+            b.putInt(i * 4, b.position());
+            MenuItem item = menu.getItem(i);
+            long[] ratings = item instanceof RatedDish ? ((RatedDish) item).getRatingDistribution() : null;
+            boolean rated = ratings != null && Arrays.stream(ratings).anyMatch(c -> c > 0);
+            byte kind = item instanceof VegDish ? VEG : item instanceof NonVegDish ? NON_VEG : 0; // 0 - cannot be rebuilt
+            b.put((byte) (kind | (rated ? RATED : 0)));
+            putString(b, item.getId());
+            putString(b, item.getName());
+            b.putDouble(menu.getPrice(i)); // Price in this menu version
+            if (rated) for (long count : ratings) b.putLong(count);
+        }
+    }
+
+    // Writes one open order; returns false (leaving no bytes) if a dish is not in the menu version being written
+    private static boolean encodeOrder(ByteBuffer b, Order order, int restaurant, MenuSnapshot menu,
+                                       Map<DeliveryPartner, Integer> partnerIndex) {
+        int start = b.position();
+        User customer = order.getCustomer();
+        GeoPoint home = customer == null ? null : customer.getLocation();
+        b.putLong(order.getId()).putLong(order.getCreatedAtMillis()).putInt(restaurant);
+        b.put((byte) ((order.isPriority() ? PRIORITY : 0) | (customer != null ? HAS_CUSTOMER : 0) | (home != null ? CUSTOMER_LOCATION : 0)
+                | (order.holdsKitchenSlot() ? PLACED : 0))); // Admitted - User.placeOrder stores an order before admission
+        if (customer != null) {
+            putString(b, customer.getName());
+            putString(b, customer.getPhone());
+            putString(b, customer.getAddress());
+            if (home != null) b.putDouble(home.getLatitude()).putDouble(home.getLongitude());
+        }
+        b.putLong(order.getDiscountPaise()).putLong(order.getTaxPaise()).putLong(order.getDeliveryFeePaise());
+        b.putDouble(order.getPaidAmount());
+        DeliveryPartner partner = order.getDeliveryPartner();
+        Integer p = partner == null ? null : partnerIndex.get(partner);
+        b.putInt(p == null ? -1 : p);
+        int lines = order.getLineCount(); // Lines only grow, so reading this many is safe while the order changes
+        b.putInt(lines);
+        for (int line = 0; line < lines; line++) {
+            int item = menu.indexOf(order.getLineItem(line));
+            if (item < 0) { // Dish added to the menu after this version was taken - the next snapshot will have it
+                b.position(start);
+                return false;
+            }
+            b.putInt(item).putLong(order.getLineUnitPaise(line)).putInt(order.getLineQuantity(line));
+        }
+        return true;
+    }
+
+    // Functional interface - writes one block into a buffer
+    @FunctionalInterface
+    private interface Encoder {
+        void encode(ByteBuffer b);
+    }
+
+    // Encodes into 'scratch', doubling it until everything fits; returns the (possibly new) buffer, ready to read
+    private static ByteBuffer encode(ByteBuffer scratch, Encoder encoder) {
+        while (true) {
+            scratch.clear();
+            try {
+                encoder.encode(scratch);
+                return scratch.flip();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    // 'static' nested class - positional writes after the header, with the section table they fill in
+    private static final class Output {
+        private final FileChannel channel;
+        private final CRC32C crc = new CRC32C();
+        private final long[] offsets = new long[SECTIONS];
+        private final long[] lengths = new long[SECTIONS];
+        private final int[] crcs = new int[SECTIONS];
+        private long position = HEADER_BYTES; // The header is written last, once the table is known
+        private long sectionStart;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void begin() {
+            sectionStart = position;
+            crc.reset();
+        }
+
+        void write(ByteBuffer bytes) throws IOException {
+            crc.update(bytes.duplicate());
+            while (bytes.hasRemaining()) position += channel.write(bytes, position);
+        }
+
+        void end(int section) {
+            offsets[section] = sectionStart;
+            lengths[section] = position - sectionStart;
+            crcs[section] = (int) crc.getValue();
+        }
+
+        void section(int section, ByteBuffer bytes) throws IOException {
+            begin();
+            write(bytes);
+            end(section);
+        }
+
+        ByteBuffer header() {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis());
+            for (int s = 0; s < SECTIONS; s++) header.putLong(offsets[s]).putLong(lengths[s]).putInt(crcs[s]);
+            CRC32C headerCrc = new CRC32C();
+            headerCrc.update(header.array(), 0, header.position());
+            return header.putInt((int) headerCrc.getValue()).flip();
+        }
+    }
+
+    // ---- Loading ----
+
+    private static MenuBlock[] decodeRestaurants(ByteBuffer b, ByteBuffer menuSection, FoodDeliveryApp app, Path file) throws IOException {
+        Set<String> registered = new HashSet<>();
+        for (Restaurant r : app.getRestaurants()) registered.add(r.getName());
+        MenuBlock[] blocks = new MenuBlock[b.getInt()];
+        for (int i = 0; i < blocks.length; i++) {
+            String name = getString(b), address = getString(b);
+            byte flags = b.get();
+            boolean located = (flags & HAS_LOCATION) != 0;
+            double latitude = located ? b.getDouble() : 0, longitude = located ? b.getDouble() : 0;
+            int capacity = b.getInt();
+            long offset = b.getLong();
+            int bytes = b.getInt(), items = b.getInt(), crc = b.getInt();
+            if (offset < 0 || offset + bytes > menuSection.capacity()) throw damaged(file, "menus");
+            if (!registered.add(name)) continue; // Already registered by the caller - its own definition wins
+
+            Restaurant r = located ? new Restaurant(name, address, latitude, longitude) : new Restaurant(name, address);
+            if (capacity != Integer.MAX_VALUE) r.setKitchenCapacity(capacity);
+            if ((flags & CLOSED) != 0) r.closeRestaurant();
+            app.registerRestaurant(r); // Menu still empty - nothing to index yet
+            blocks[i] = new MenuBlock(r, menuSection, (int) offset, bytes, items, crc);
+            r.setPendingMenu(blocks[i]);
+        }
+        return blocks;
+    }
+
+    private static DeliveryPartner[] decodePartners(ByteBuffer b, FoodDeliveryApp app) {
+        Map<String, DeliveryPartner> registered = new HashMap<>();
+        for (DeliveryPartner p : app.getPartners()) registered.put(p.getName(), p);
+        DeliveryPartner[] partners = new DeliveryPartner[b.getInt()];
+        for (int i = 0; i < partners.length; i++) {
+            String name = getString(b);
+            boolean located = (b.get() & HAS_LOCATION) != 0;
+            double latitude = located ? b.getDouble() : 0, longitude = located ? b.getDouble() : 0;
+            DeliveryPartner p = registered.get(name);
+            if (p == null) {
+                p = located ? new DeliveryPartner(name, latitude, longitude) : new DeliveryPartner(name);
+                app.registerPartner(p);
+                registered.put(name, p);
+            }
+            partners[i] = p;
+        }
+        return partners;
+    }
+
+    // Returns { restored, skipped }
+    private static int[] decodeOrders(ByteBuffer b, MenuBlock[] menus, DeliveryPartner[] partners, FoodDeliveryApp app) {
+        Map<String, User> users = new HashMap<>(); // Same customer on several orders -> one User, as in journal replay
+        int count = b.getInt(), restored = 0;
+        long lastId = 0;
+        for (int i = 0; i < count; i++) {
+            long id = b.getLong(), createdAt = b.getLong();
+            lastId = Math.max(lastId, id);
+            int restaurant = b.getInt();
+            byte flags = b.get();
+            User customer = null;
+            if ((flags & HAS_CUSTOMER) != 0) {
+                String name = getString(b), phone = getString(b), address = getString(b);
+                boolean located = (flags & CUSTOMER_LOCATION) != 0;
+                double latitude = located ? b.getDouble() : 0, longitude = located ? b.getDouble() : 0;
+                customer = users.computeIfAbsent(name + "|" + phone, k -> located
+                        ? new User(name, phone, address, latitude, longitude) : new User(name, phone, address));
+            }
+            long discount = b.getLong(), tax = b.getLong(), fee = b.getLong();
+            double paid = b.getDouble();
+            int partner = b.getInt();
+            int lines = b.getInt();
+            int[] items = new int[lines], quantities = new int[lines];
+            long[] unitPaise = new long[lines];
+            for (int line = 0; line < lines; line++) {
+                items[line] = b.getInt();
+                unitPaise[line] = b.getLong();
+                quantities[line] = b.getInt();
+            }
+
+            MenuBlock block = restaurant >= 0 && restaurant < menus.length ? menus[restaurant] : null;
+            if (block == null || app.getOrderStore().getActive(id) != null) continue; // Skipped restaurant, or already active
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(createdAt), ZoneId.systemDefault());
+            Order order = new Order(id, customer, block.restaurant, time);
+            boolean complete = true;
+            for (int line = 0; line < lines; line++) {
+                MenuItem item = block.item(items[line]); // Decodes just this dish - the rest of the menu stays encoded
+                if (item == null) complete = false;
+                else order.restoreItem(item, unitPaise[line], quantities[line]);
+            }
+            if (!complete) continue; // A dish could not be rebuilt - better no order than a wrong bill
+
+            if ((flags & PLACED) != 0) { // A rejected order takes no kitchen slot and keeps today's pricing
+                order.restorePlaced((flags & PRIORITY) != 0);
+                order.restoreBill(discount, tax, fee);
+            }
+            if (customer != null) customer.placeOrder(order, app);
+            else app.addOrder(order);
+            order.restorePayment(paid);
+            if (partner >= 0 && partner < partners.length) order.restorePartner(partners[partner], app);
+            restored++;
+        }
+        if (Order.getIdGenerator() instanceof SnowflakeIdGenerator) // New orders must sort after the restored ones
+            ((SnowflakeIdGenerator) Order.getIdGenerator()).advancePast(lastId);
+        return new int[] { restored, count - restored };
+    }
+
+    // 'static' nested class - one restaurant's menu, still encoded in the mapped file until someone needs it
+    // Dishes are decoded one at a time (orders need only theirs) or all at once when the menu is first read;
+    // both run under the restaurant's lock, so each dish is built exactly once
+    private static final class MenuBlock implements Runnable {
+        private final Restaurant restaurant;
+        private final int offset, bytes, count, crc;
+        private ByteBuffer section; // Dropped once the menu is published, so the mapping can be released
+        private MenuItem[] items; // In file order, filled as dishes are decoded - null where a dish could not be rebuilt
+        private List<RatedDish> rated = new ArrayList<>(); // Dishes with ratings, for the top-rated list
+        private volatile boolean damaged; // Read by getDamagedMenuCount on any thread
+
+        MenuBlock(Restaurant restaurant, ByteBuffer section, int offset, int bytes, int count, int crc) {
+            this.restaurant = restaurant;
+            this.section = section;
+            this.offset = offset;
+            this.bytes = bytes;
+            this.count = count;
+            this.crc = crc;
+        }
+
+        // Called once, under the restaurant's lock, by Restaurant.materializeMenu
+        @Override
+        public void run() {
+            MenuItem[] listed = new MenuItem[count];
+            double[] prices = new double[count];
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                MenuItem item = decode(i);
+                if (item == null) continue; // Damaged block or a MenuItem subclass the snapshot cannot rebuild
+                listed[n] = item;
+                prices[n++] = item.getPrice();
+            }
+            restaurant.restoreMenu(Arrays.copyOf(listed, n), Arrays.copyOf(prices, n)); // One version, not one per dish
+            section = null;
+        }
+
+        // Method to get one dish by its position in the file - null if it cannot be rebuilt
+        MenuItem item(int index) {
+            if (index < 0 || index >= count) return null;
+            synchronized (restaurant) {
+                return section != null ? decode(index) : items[index]; // Published - every dish is decoded
+            }
+        }
+
+        // Background thread only - indexing costs far more than decoding, so readers never wait for it.
+        // A dish repriced or rated meanwhile is indexed with its current price and rating
+        void index() {
+            restaurant.materializeMenu(); // Decodes the rest of the menu if nobody has yet
+            FoodDeliveryApp platform = restaurant.getPlatform();
+            List<RatedDish> ratedDishes;
+            synchronized (restaurant) {
+                ratedDishes = rated;
+                rated = null;
+            }
+            for (MenuItem item : items) if (item != null) platform.getCatalog().index(restaurant, item);
+            TopRatedDishes topRated = platform.getTopRatedDishes();
+            for (RatedDish item : ratedDishes) topRated.update(item);
+        }
+
+        // Under the restaurant's lock - the block is checked on first use
+        private MenuItem decode(int index) {
+            if (items == null) {
+                items = new MenuItem[count];
+                damaged = crc32c(section.slice(offset, bytes)) != crc; // Damaged - the restaurant starts with an empty menu
+            }
+            if (items[index] != null || damaged) return items[index];
+            ByteBuffer b = section.slice(offset, bytes);
+            b.position(b.getInt(index * 4));
+            byte kind = b.get();
+            String id = getString(b), name = getString(b);
+            double price = b.getDouble();
+            long[] ratings = null;
+            if ((kind & RATED) != 0) {
+                ratings = new long[5];
+                for (int star = 0; star < 5; star++) ratings[star] = b.getLong();
+            }
+            RatedDish item;
+            if ((kind & ~RATED) == VEG) item = new VegDish(id, name, price);
+            else if ((kind & ~RATED) == NON_VEG) item = new NonVegDish(id, name, price);
+            else return null;
+            if (ratings != null) item.restoreRatings(ratings);
+            if (ratings != null) rated.add(item);
+            return items[index] = item;
+        }
+    }
+
+    // 'static' nested class - background writer started by schedule()
+    public static final class Checkpointer implements AutoCloseable {
+        private final FoodDeliveryApp app;
+        private final Path file;
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread t = new Thread(task, "snapshot-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        private final AtomicLong writes = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private volatile long lastBytes;
+        private volatile long lastWriteMillis;
+        private volatile Exception lastFailure;
+
+        private Checkpointer(FoodDeliveryApp app, Path file, long periodMillis) {
+            this.app = app;
+            this.file = file;
+            executor.scheduleWithFixedDelay(this::checkpoint, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private void checkpoint() {
+            long start = System.nanoTime();
+            try {
+                lastBytes = write(app, file);
+                lastWriteMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                writes.incrementAndGet();
+            } catch (IOException | RuntimeException e) { // Keep the schedule alive - the previous snapshot is still intact
+                lastFailure = e;
+                failures.incrementAndGet();
+            }
+        }
+
+        // Getters - progress of the background writer
+        public long getWriteCount() { return writes.get(); }
+        public long getFailureCount() { return failures.get(); }
+        public Exception getLastFailure() { return lastFailure; }
+        public long getLastSnapshotBytes() { return lastBytes; }
+        public long getLastWriteMillis() { return lastWriteMillis; }
+
+        @Override
+        public void close() {
+            executor.shutdown(); // A snapshot being written is finished, not torn
+        }
+    }
+
+    // ---- Helpers ----
+
+    private static int crc32c(ByteBuffer bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.duplicate()); // Leaves the caller's position alone
+        return (int) crc.getValue();
+    }
+
+    private static IOException damaged(Path file, String part) {
+        return new IOException("Snapshot " + file + " is damaged (" + part + ")");
+    }
+
+    private static void putString(ByteBuffer b, String s) {
+        if (s == null) {
+            b.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) // Would wrap the 'short' length and corrupt every later field
+            throw new IllegalArgumentException("Snapshot strings are limited to " + Short.MAX_VALUE + " bytes: " + s.substring(0, 32) + "...");
+        b.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer b) {
+        int length = b.getShort();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,68 @@
+package foodapp.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// IMMUTABLE VALUE OBJECT - How an order's bill is built from its line items: tax per category, a percentage
+// discount above a minimum order value and a delivery fee waived above a threshold
+// All rates are basis points (1% = 100 bps) and all amounts paise, so the bill is exact integer arithmetic
+// 'with' methods return a modified copy - an instance can be shared by every order on the platform
+
+public final class PricingRules {
+
+    public static final PricingRules NONE = new PricingRules(0, new HashMap<>(), 0, 0, 0, 0); // Bill = sum of the lines
+
+    private final int taxBps; // Default tax rate
+    private final Map<String, Integer> categoryTaxBps; // Overrides by category, never modified after construction
+    private final int discountBps;
+    private final long discountMinSubtotalPaise;
+    private final long deliveryFeePaise;
+    private final long freeDeliveryAbovePaise; // 0 - never free
+
+    // Private Constructor - instances come from NONE and the 'with' methods
+    private PricingRules(int taxBps, Map<String, Integer> categoryTaxBps, int discountBps, long discountMinSubtotalPaise,
+                         long deliveryFeePaise, long freeDeliveryAbovePaise) {
+        this.taxBps = taxBps;
+        this.categoryTaxBps = categoryTaxBps;
+        this.discountBps = discountBps;
+        this.discountMinSubtotalPaise = discountMinSubtotalPaise;
+        this.deliveryFeePaise = deliveryFeePaise;
+        this.freeDeliveryAbovePaise = freeDeliveryAbovePaise;
+    }
+
+    // Methods returning a modified copy
+    public PricingRules withTax(int bps) {
+        return new PricingRules(bps, categoryTaxBps, discountBps, discountMinSubtotalPaise, deliveryFeePaise, freeDeliveryAbovePaise);
+    }
+
+    public PricingRules withCategoryTax(String category, int bps) {
+        Map<String, Integer> rates = new HashMap<>(categoryTaxBps);
+        rates.put(category, bps);
+        return new PricingRules(taxBps, rates, discountBps, discountMinSubtotalPaise, deliveryFeePaise, freeDeliveryAbovePaise);
+    }
+
+    public PricingRules withDiscount(int bps, long minSubtotalPaise) {
+        return new PricingRules(taxBps, categoryTaxBps, bps, minSubtotalPaise, deliveryFeePaise, freeDeliveryAbovePaise);
+    }
+
+    public PricingRules withDeliveryFee(long feePaise, long freeAbovePaise) {
+        return new PricingRules(taxBps, categoryTaxBps, discountBps, discountMinSubtotalPaise, feePaise, freeAbovePaise);
+    }
+
+    // Package-private getters used by Order's single pricing pass
+    int taxBpsFor(String category) {
+        Integer rate = categoryTaxBps.get(category);
+        return rate == null ? taxBps : rate;
+    }
+    int getDiscountBps() { return discountBps; }
+    long getDiscountMinSubtotalPaise() { return discountMinSubtotalPaise; }
+
+    long deliveryFeeFor(long discountedSubtotalPaise) {
+        return freeDeliveryAbovePaise > 0 && discountedSubtotalPaise >= freeDeliveryAbovePaise ? 0 : deliveryFeePaise;
+    }
+
+    // 'static' helper - amount x rate in basis points, rounded half up (amounts are never negative)
+    static long applyBps(long paise, int bps) {
+        return (paise * bps + 5_000) / 10_000;
+    }
+}
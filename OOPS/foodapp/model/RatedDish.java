@@ -0,0 +1,54 @@
+package foodapp.model;
+
+import foodapp.interfaces.Rateable;
+import foodapp.util.RatingHistogram;
+
+// ABSTRACT CLASS + IMPLEMENTATION OF INTERFACE - the rating behaviour shared by every rateable dish
+// Subclasses (VegDish, NonVegDish) only supply their category
+
+public abstract class RatedDish extends MenuItem implements Rateable { // 'abstract' - getCategory() is still left to subclasses
+
+    private final RatingHistogram ratings = new RatingHistogram(); // Composition - five atomic star counters instead of a list of every rating
+
+    // Parameterized Constructor - 'protected', only subclasses create dishes
+    protected RatedDish(String id, String name, double price) {
+        super(id, name, price); // 'super' keyword calls superclass constructor
+    }
+
+    // Implementing methods from Rateable interface - Multiple Inheritance via Interfaces
+    @Override
+    public void addRating(int stars, String review) {
+        ratings.record(stars); // Throws IllegalArgumentException for values outside 1-5
+        FoodDeliveryApp platform = getPlatform();
+        if (platform != null) {
+            platform.getTopRatedDishes().update(this); // Keep the platform ranking current
+            platform.getCatalog().rated(this); // ...and the search rankings
+        }
+    }
+
+    // Implementing methods from Rateable interface - O(1), independent of the number of ratings
+    @Override
+    public double getAverageRating() {
+        return ratings.average();
+    }
+
+    @Override
+    public long getRatingCount() {
+        return ratings.count();
+    }
+
+    @Override
+    public long[] getRatingDistribution() {
+        return ratings.distribution();
+    }
+
+    @Override
+    public int getRatingPercentile(double percent) {
+        return ratings.percentile(percent);
+    }
+
+    // Package-private - restores ratings saved by PlatformSnapshot (index 0 = 1 star), before the dish is listed
+    void restoreRatings(long[] distribution) {
+        for (int i = 0; i < distribution.length; i++) if (distribution[i] > 0) ratings.record(i + 1, distribution[i]);
+    }
+}
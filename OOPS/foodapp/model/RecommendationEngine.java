@@ -0,0 +1,170 @@
+package foodapp.model;
+
+import foodapp.util.IntDoubleMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// RECOMMENDATIONS - "customers also added": a sparse co-occurrence matrix of dishes, updated as orders are placed
+// Every dish gets a dense int key; its row maps the keys of dishes ordered with it to a decayed count.
+// Decay is FORWARD DECAY: instead of shrinking every old count as time passes, each new count is added with a
+// weight that grows with time (e^(t/tau)), so recent orders outweigh old ones and nothing is touched on a timer.
+// A row rescales itself (and drops what has faded) only when its weights get large.
+
+public class RecommendationEngine {
+
+    private static final double HALF_LIFE_MILLIS = 7 * 24 * 3_600_000.0; // An order counts half as much a week later
+    private static final double DECAY_PER_MILLI = Math.log(2) / HALF_LIFE_MILLIS;
+    private static final double RESCALE_AT = 1e12; // Row weight at which a row rescales (about 40 half-lives)
+    private static final double FADED = 0.01; // Decayed counts below this are dropped on rescale
+    private static final int MAX_DISHES_PER_ORDER = 16; // Bounds the quadratic pair update for huge orders
+    private static final int MAX_COMPLEMENTS = 256; // Complements kept per dish - the weakest are dropped beyond
+
+    private final List<MenuItem> items = new CopyOnWriteArrayList<>(); // Dense key -> dish
+    private volatile Row[] rows = new Row[64]; // Dense key -> row, grown under 'this'
+
+    // Package-private Constructor - one per FoodDeliveryApp
+    RecommendationEngine() { }
+
+    // Package-private - gives the dish its dense key (idempotent)
+    synchronized int register(MenuItem item) {
+        if (item.getRecommendationKey() < 0) {
+            int key = items.size();
+            if (key == rows.length) rows = Arrays.copyOf(rows, key * 2);
+            rows[key] = new Row();
+            items.add(item);
+            item.setRecommendationKey(key);
+        }
+        return item.getRecommendationKey();
+    }
+
+    // EVENT: order placed - every pair of distinct dishes in it counts once; O(dishes^2), one row lock at a time
+    void orderPlaced(Order order, long nowMillis) {
+        int[] keys = new int[Math.min(order.getLineCount(), MAX_DISHES_PER_ORDER)];
+        int n = 0;
+        for (int i = 0; i < order.getLineCount() && n < keys.length; i++) {
+            int key = keyOf(order.getLineItem(i));
+            boolean seen = false;
+            for (int j = 0; j < n; j++) seen |= keys[j] == key; // The same dish may sit on two lines (two prices)
+            if (!seen) keys[n++] = key;
+        }
+        if (n < 2) return; // Nothing was ordered together
+        Row[] table = rows;
+        for (int i = 0; i < n; i++) {
+            Row row = table[keys[i]];
+            synchronized (row) {
+                double weight = row.weight(nowMillis);
+                row.orders += weight;
+                for (int j = 0; j < n; j++) if (j != i) row.counts.add(keys[j], weight);
+                if (row.counts.size() > 2 * MAX_COMPLEMENTS) row.counts.retainLargest(MAX_COMPLEMENTS);
+            }
+        }
+    }
+
+    // Method for "customers also added" - the k dishes most often ordered with this one, strongest first
+    public List<Complement> complements(MenuItem item, int k) {
+        int key = item.getRecommendationKey();
+        if (key < 0 || k <= 0) return new ArrayList<>();
+        Row row = rows[key];
+        PriorityQueue<Complement> best = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Complement::getScore)); // Min-heap of size k
+        long now = System.currentTimeMillis();
+        synchronized (row) {
+            double scale = 1 / row.weight(now); // Back from forward-decayed weights to counts as of now
+            double orders = row.orders;
+            row.counts.forEach((other, weight) -> offer(best, k, other, weight * scale, weight / orders));
+        }
+        return sorted(best);
+    }
+
+    // Overloaded Method - complements of a whole cart: counts of its dishes added up, dishes already in it skipped
+    public List<Complement> complements(Order cart, int k) {
+        if (k <= 0) return new ArrayList<>();
+        IntDoubleMap totals = new IntDoubleMap();
+        int[] inCart = new int[cart.getLineCount()];
+        double[] orders = { 0 };
+        long now = System.currentTimeMillis();
+        Row[] table = rows;
+        for (int i = 0; i < inCart.length; i++) {
+            int key = cart.getLineItem(i).getRecommendationKey();
+            inCart[i] = key;
+            if (key < 0) continue;
+            Row row = table[key];
+            synchronized (row) {
+                double scale = 1 / row.weight(now);
+                orders[0] += row.orders * scale;
+                row.counts.forEach((other, weight) -> totals.add(other, weight * scale));
+            }
+        }
+        PriorityQueue<Complement> best = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Complement::getScore));
+        totals.forEach((other, count) -> {
+            for (int key : inCart) if (key == other) return;
+            offer(best, k, other, count, count / orders[0]);
+        });
+        return sorted(best);
+    }
+
+    // Getter - number of dishes seen in orders
+    public int getDishCount() { return items.size(); }
+
+    private int keyOf(MenuItem item) {
+        int key = item.getRecommendationKey();
+        return key >= 0 ? key : register(item);
+    }
+
+    // Keeps the k strongest - a Complement is only created for a dish that makes the cut
+    private void offer(PriorityQueue<Complement> best, int k, int key, double score, double confidence) {
+        if (best.size() == k) {
+            if (score <= best.peek().score) return;
+            best.poll();
+        }
+        best.add(new Complement(items.get(key), score, confidence));
+    }
+
+    private static List<Complement> sorted(PriorityQueue<Complement> best) {
+        List<Complement> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.comparingDouble(Complement::getScore).reversed());
+        return ranked;
+    }
+
+    // 'static' nested class - one row of the matrix, guarded by its own monitor
+    private static final class Row {
+        final IntDoubleMap counts = new IntDoubleMap(); // Other dish key -> forward-decayed co-occurrence count
+        double orders; // Forward-decayed number of orders containing this dish with at least one other
+        long landmarkMillis = System.currentTimeMillis(); // Time at which one order weighs exactly 1
+
+        // Weight of an event at 'now' - e^((now - landmark) / tau); rescales the row first if it grew too large
+        double weight(long now) {
+            double weight = Math.exp((now - landmarkMillis) * DECAY_PER_MILLI);
+            if (weight > RESCALE_AT) {
+                counts.scale(1 / weight, FADED); // Counts are now as of 'now'; faded pairs are dropped
+                orders /= weight;
+                landmarkMillis = now;
+                weight = 1;
+            }
+            return weight;
+        }
+    }
+
+    // 'static' nested class - one recommended dish
+    public static final class Complement {
+        private final MenuItem item;
+        private final double score; // Decayed number of orders with both dishes
+        private final double confidence; // Share of orders with the viewed dish(es) that also had this one
+
+        Complement(MenuItem item, double score, double confidence) {
+            this.item = item;
+            this.score = score;
+            this.confidence = confidence;
+        }
+
+        public MenuItem getItem() { return item; }
+        public double getScore() { return score; }
+        public double getConfidence() { return confidence; }
+
+        @Override
+        public String toString() { return item.getName() + String.format(" (%.0f%%)", confidence * 100); }
+    }
+}
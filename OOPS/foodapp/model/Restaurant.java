@@ -1,7 +1,11 @@
 package foodapp.model;
 
-import java.util.ArrayList;
+import foodapp.exceptions.RestaurantClosedException;
+import foodapp.exceptions.RestaurantOverloadedException;
+import foodapp.util.TokenBucket;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 // COMPOSITION (HAS-A Relationship) + ASSOCIATION (USES-A Relationship)
 
@@ -10,20 +14,148 @@ public class Restaurant {
     // Private Attributes for encapsulation to prevent direct access - 'private' access modifier
     private String name; // Restaurant HAS-A name
     private String address; // Restaurant HAS-A address
-    private boolean isOpen = true; // Restaurant HAS-A isOpen status - Default initialization
-    private List<MenuItem> menu = new ArrayList<>(); // Restaurant HAS-A Menu (Composition) - Instantiation using 'new' keyword
-    private List<Order> activeOrders = new ArrayList<>(); // Restaurant USES-A Orders (Association) - Instantiation using 'new' keyword
+    private GeoPoint location; // Restaurant HAS-A location (optional) - used for nearest-partner matching
+    private volatile boolean isOpen = true; // Restaurant HAS-A isOpen status - Default initialization ('volatile' - read by admission on any thread)
+    private final AtomicReference<MenuSnapshot> menu = new AtomicReference<>(MenuSnapshot.EMPTY); // Restaurant HAS-A Menu (Composition) - immutable versions, swapped atomically
+    private FoodDeliveryApp platform; // Platform the restaurant is registered with (set on registration)
+    private volatile int analyticsKey = -1; // Dense index assigned by RevenueAnalytics (-1 until registered)
+    private final AtomicInteger activeOrders = new AtomicInteger(); // Restaurant USES-A Orders (Association) - admitted and not yet completed
+    private volatile int kitchenCapacity = Integer.MAX_VALUE; // Most orders the kitchen handles at once
+    private volatile TokenBucket orderRate; // New orders per second - null means unlimited
+    private volatile Kitchen kitchen; // Restaurant HAS-A Kitchen (Composition) - created on first use
+    private volatile Runnable pendingMenu; // Decodes the menu from a loaded PlatformSnapshot on first use - null once materialized
+    // Preallocated rejections - thrown as is, so refusing an order never builds a stack trace
+    private final RestaurantClosedException closedRejection;
+    private final RestaurantOverloadedException kitchenFullRejection;
+    private final RestaurantOverloadedException rateLimitedRejection;
 
     // Parameterized Constructor - Initialization of Restaurant object
     public Restaurant(String name, String address) {
         this.name = name; // 'this' keyword refers to current instance
         this.address = address;
+        this.closedRejection = new RestaurantClosedException(name + " is closed!", false);
+        this.kitchenFullRejection = new RestaurantOverloadedException(name + " kitchen is at capacity!");
+        this.rateLimitedRejection = new RestaurantOverloadedException(name + " is receiving too many orders!");
     }
 
-    // Methods to manage menu and orders
-    public void addMenuItem(MenuItem item) { menu.add(item); }
-    public List<MenuItem> getMenu() { return menu; }
+    // Overloaded Constructor - Restaurant with coordinates
+    public Restaurant(String name, String address, double latitude, double longitude) {
+        this(name, address); // Constructor Chaining
+        this.location = new GeoPoint(latitude, longitude);
+    }
+
+    // Methods to manage the menu - writers are serialized and publish a whole new version (copy-on-write);
+    // readers just load the current version, so browsing never locks and never sees a half-made edit
+    public synchronized void addMenuItem(MenuItem item) {
+        MenuSnapshot current = currentMenu();
+        if (current.indexOf(item) >= 0) return; // Already on the menu
+        item.setRestaurant(this);
+        menu.set(current.withItem(item, item.getPrice()));
+        if (platform != null) platform.getCatalog().index(this, item); // Keep the platform-wide catalog consistent
+    }
+
+    // Method to change a dish's price - returns false if the dish is not on this menu
+    public synchronized boolean updatePrice(MenuItem item, double newPrice) {
+        MenuSnapshot current = currentMenu();
+        int index = current.indexOf(item);
+        if (index < 0) return false;
+        double oldPrice = item.getPrice();
+        menu.set(current.withPrice(index, newPrice));
+        item.setPrice(newPrice);
+        if (platform != null) platform.getCatalog().reprice(item, oldPrice);
+        return true;
+    }
+
+    public List<MenuItem> getMenu() { return currentMenu().getItems(); } // Read-only view of the current version
+    public MenuSnapshot getMenuSnapshot() { return currentMenu(); }
     public boolean isOpen() { return isOpen; }
     public void closeRestaurant() { isOpen = false; }
     public String getName() { return name; }
+    public String getAddress() { return address; }
+    public GeoPoint getLocation() { return location; }
+    public int getActiveOrderCount() { return activeOrders.get(); }
+    public int getKitchenCapacity() { return kitchenCapacity; }
+
+    // Lazy Initialization - a menu restored from a snapshot is decoded by whichever reader needs it first
+    private MenuSnapshot currentMenu() {
+        if (pendingMenu != null) materializeMenu();
+        return menu.get();
+    }
+
+    // Package-private - called by PlatformSnapshot; the loader publishes the menu through restoreMenu
+    void setPendingMenu(Runnable loader) { pendingMenu = loader; }
+
+    synchronized void materializeMenu() {
+        Runnable loader = pendingMenu;
+        if (loader == null) return; // Another thread got here first
+        try {
+            loader.run();
+        } finally {
+            pendingMenu = null;
+        }
+    }
+
+    // Package-private - publishes a whole restored menu as one version; PlatformSnapshot indexes it afterwards
+    synchronized void restoreMenu(MenuItem[] items, double[] prices) {
+        for (MenuItem item : items) item.setRestaurant(this);
+        menu.set(MenuSnapshot.of(items, prices));
+    }
+
+    // Lazy Initialization - double-checked locking on a 'volatile' field; placed orders are only
+    // queued for cooking once the kitchen has at least one station
+    public Kitchen getKitchen() {
+        Kitchen k = kitchen;
+        if (k == null) {
+            synchronized (this) {
+                k = kitchen;
+                if (k == null) kitchen = k = new Kitchen(this);
+            }
+        }
+        return k;
+    }
+
+    // Methods to set admission limits - checked by AdmissionControl before an order is placed
+    public void setKitchenCapacity(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        kitchenCapacity = capacity;
+    }
+    public void setOrderRateLimit(double ordersPerSecond, int burst) { orderRate = new TokenBucket(ordersPerSecond, burst); }
+    public void removeOrderRateLimit() { orderRate = null; }
+
+    // Package-private - set by FoodDeliveryApp.registerRestaurant
+    void setPlatform(FoodDeliveryApp platform) { this.platform = platform; }
+    FoodDeliveryApp getPlatform() { return platform; }
+
+    // Package-private - dense key used by RevenueAnalytics (written under the analytics lock)
+    int getAnalyticsKey() { return analyticsKey; }
+    void setAnalyticsKey(int key) { analyticsKey = key; }
+
+    // Package-private - kitchen slots: taken by AdmissionControl (or journal replay), given back by Order.leaveKitchen
+    void orderOpened() { activeOrders.incrementAndGet(); }
+    void orderClosed() { activeOrders.decrementAndGet(); }
+
+    // Bounded increment - CAS loop, so concurrent admissions can never overfill the kitchen
+    boolean tryOpenOrder() {
+        int capacity = kitchenCapacity;
+        while (true) {
+            int active = activeOrders.get();
+            if (active >= capacity) return false;
+            if (activeOrders.compareAndSet(active, active + 1)) return true;
+        }
+    }
+
+    Kitchen kitchenIfCreated() { return kitchen; } // null - no kitchen scheduling for this restaurant
+
+    boolean tryTakeOrderToken() {
+        TokenBucket bucket = orderRate;
+        return bucket == null || bucket.tryAcquire();
+    }
+
+    RestaurantClosedException rejection(AdmissionControl.Decision decision) {
+        switch (decision) {
+            case KITCHEN_FULL: return kitchenFullRejection;
+            case RATE_LIMITED: return rateLimitedRejection;
+            default: return closedRejection;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,187 @@
+package foodapp.model;
+
+import foodapp.util.WindowedAggregates;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntToLongFunction;
+
+// STREAMING ANALYTICS - live order volume and revenue per restaurant, per category and for the whole platform
+// Fed by order placement (volume), cancellation and payment (revenue) as they happen; every event is an O(1) add into
+// per-minute and per-hour buckets, so dashboards read a handful of counters instead of rescanning orders
+// Money is kept in paise (long) - no floating-point drift in the sums
+
+public class RevenueAnalytics {
+
+    private static final long MINUTE = 60_000, HOUR = 3_600_000;
+    private static final int MINUTE_BUCKETS = 60; // Last hour, minute by minute
+    private static final int HOUR_BUCKETS = 48; // Last two days, hour by hour
+    private static final int PLATFORM_KEY = 0;
+
+    private final WindowedAggregates restaurantMinutes = new WindowedAggregates(MINUTE_BUCKETS, MINUTE);
+    private final WindowedAggregates restaurantHours = new WindowedAggregates(HOUR_BUCKETS, HOUR);
+    private final WindowedAggregates categoryMinutes = new WindowedAggregates(MINUTE_BUCKETS, MINUTE);
+    private final WindowedAggregates categoryHours = new WindowedAggregates(HOUR_BUCKETS, HOUR);
+    private final WindowedAggregates platformMinutes = new WindowedAggregates(MINUTE_BUCKETS, MINUTE);
+    private final WindowedAggregates platformHours = new WindowedAggregates(HOUR_BUCKETS, HOUR);
+
+    private final List<Restaurant> restaurants = new CopyOnWriteArrayList<>(); // Dense key -> Restaurant
+    private final Map<String, Integer> categoryKeys = new ConcurrentHashMap<>(); // Category name -> dense key
+
+    // Package-private Constructor - one per FoodDeliveryApp
+    RevenueAnalytics() { }
+
+    // Package-private - gives the restaurant its dense key (idempotent)
+    synchronized int register(Restaurant r) {
+        if (r.getAnalyticsKey() < 0) {
+            restaurants.add(r);
+            r.setAnalyticsKey(restaurants.size() - 1);
+        }
+        return r.getAnalyticsKey();
+    }
+
+    // EVENT: order placed - one order for its restaurant, the platform and each category it contains
+    void orderPlaced(Order order, long nowMillis) {
+        order.setCountedAt(nowMillis); // A cancellation takes the counts back out of the same buckets
+        count(order, nowMillis, 1);
+    }
+
+    // EVENT: placed order cancelled - its counts are removed again (once, and only if they were added)
+    void orderCancelled(Order order) {
+        long placedAt = order.takeCountedAt();
+        if (placedAt != 0) count(order, placedAt, -1);
+    }
+
+    private void count(Order order, long timeMillis, int delta) {
+        int r = keyOf(order.getRestaurant());
+        restaurantMinutes.add(r, timeMillis, delta, 0);
+        restaurantHours.add(r, timeMillis, delta, 0);
+        platformMinutes.add(PLATFORM_KEY, timeMillis, delta, 0);
+        platformHours.add(PLATFORM_KEY, timeMillis, delta, 0);
+        for (int i = 0; i < order.getLineCount(); i++) {
+            String category = order.getLineItem(i).getCategory();
+            if (seenBefore(order, i, category)) continue; // Count the order once per category
+            int c = categoryKey(category);
+            categoryMinutes.add(c, timeMillis, delta, 0);
+            categoryHours.add(c, timeMillis, delta, 0);
+        }
+    }
+
+    // EVENT: order paid - the bill total (not the amount tendered) is booked once per order, however often it is paid.
+    // Categories share the total in proportion to their line prices, so they add up to the restaurant's revenue
+    void orderPaid(Order order, long nowMillis) {
+        if (!order.markPaid()) return; // Revenue already booked
+        int r = keyOf(order.getRestaurant());
+        long total = order.getTotalPaise(); // After discount, tax and delivery fee
+        restaurantMinutes.add(r, nowMillis, 0, total);
+        restaurantHours.add(r, nowMillis, 0, total);
+        platformMinutes.add(PLATFORM_KEY, nowMillis, 0, total);
+        platformHours.add(PLATFORM_KEY, nowMillis, 0, total);
+        int lines = order.getLineCount();
+        long subtotal = 0;
+        for (int i = 0; i < lines; i++) subtotal += order.getLineUnitPaise(i) * order.getLineQuantity(i);
+        long running = 0, booked = 0;
+        for (int i = 0; i < lines; i++) {
+            running += order.getLineUnitPaise(i) * order.getLineQuantity(i);
+            long upTo = i == lines - 1 ? total : subtotal == 0 ? 0 : Math.round((double) total * running / subtotal);
+            long share = upTo - booked; // Cumulative rounding - the shares always sum to the total exactly
+            booked = upTo;
+            int c = categoryKey(order.getLineItem(i).getCategory());
+            categoryMinutes.add(c, nowMillis, 0, share);
+            categoryHours.add(c, nowMillis, 0, share);
+        }
+    }
+
+    // Methods for sliding windows ending now - minutes must be 1..60, longer windows use the hourly methods
+    public long getOrders(Restaurant r, int minutes) { return key(r) < 0 ? 0 : restaurantMinutes.sumCount(key(r), now(), minutes); }
+    public double getRevenue(Restaurant r, int minutes) { return key(r) < 0 ? 0 : restaurantMinutes.sumAmount(key(r), now(), minutes) / 100.0; }
+    public long getOrders(String category, int minutes) { return withCategory(category, k -> categoryMinutes.sumCount(k, now(), minutes)); }
+    public double getRevenue(String category, int minutes) { return withCategory(category, k -> categoryMinutes.sumAmount(k, now(), minutes)) / 100.0; }
+    public long getPlatformOrders(int minutes) { return platformMinutes.sumCount(PLATFORM_KEY, now(), minutes); }
+    public double getPlatformRevenue(int minutes) { return platformMinutes.sumAmount(PLATFORM_KEY, now(), minutes) / 100.0; }
+
+    // Methods for tumbling windows - revenue per minute / per hour, oldest first
+    public double[] getRevenuePerMinute(Restaurant r, int minutes) { return rupees(key(r) < 0 ? new long[0] : restaurantMinutes.amountSeries(key(r), now(), minutes)); }
+    public double[] getRevenuePerHour(Restaurant r, int hours) { return rupees(key(r) < 0 ? new long[0] : restaurantHours.amountSeries(key(r), now(), hours)); }
+    public long[] getOrdersPerHour(Restaurant r, int hours) { return key(r) < 0 ? new long[0] : restaurantHours.countSeries(key(r), now(), hours); }
+    public double[] getRevenuePerHour(String category, int hours) {
+        Integer k = categoryKeys.get(category);
+        return rupees(k == null ? new long[0] : categoryHours.amountSeries(k, now(), hours));
+    }
+    public double[] getPlatformRevenuePerHour(int hours) { return rupees(platformHours.amountSeries(PLATFORM_KEY, now(), hours)); }
+
+    // Method to rank restaurants by revenue over the last 'minutes' - O(restaurants x minutes), no order is touched
+    public List<Entry> topRestaurants(int k, int minutes) {
+        long now = now();
+        PriorityQueue<Entry> best = new PriorityQueue<>(Comparator.comparingLong((Entry e) -> e.revenuePaise)); // Min-heap of size k
+        for (int key = 0; key < restaurants.size(); key++) {
+            long revenue = restaurantMinutes.sumAmount(key, now, minutes);
+            if (revenue == 0) continue;
+            if (best.size() < k) best.add(new Entry(restaurants.get(key), revenue, restaurantMinutes.sumCount(key, now, minutes)));
+            else if (revenue > best.peek().revenuePaise) {
+                best.poll();
+                best.add(new Entry(restaurants.get(key), revenue, restaurantMinutes.sumCount(key, now, minutes)));
+            }
+        }
+        List<Entry> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.comparingLong((Entry e) -> e.revenuePaise).reversed());
+        return ranked;
+    }
+
+    // 'static' nested class - one row of a ranking
+    public static final class Entry {
+        private final Restaurant restaurant;
+        private final long revenuePaise;
+        private final long orders;
+
+        Entry(Restaurant restaurant, long revenuePaise, long orders) {
+            this.restaurant = restaurant;
+            this.revenuePaise = revenuePaise;
+            this.orders = orders;
+        }
+
+        public Restaurant getRestaurant() { return restaurant; }
+        public double getRevenue() { return revenuePaise / 100.0; }
+        public long getOrders() { return orders; }
+
+        @Override
+        public String toString() { return restaurant.getName() + ": ₹" + getRevenue() + " from " + orders + " orders"; }
+    }
+
+    private int keyOf(Restaurant r) {
+        int key = r.getAnalyticsKey();
+        return key >= 0 ? key : register(r); // Restaurant was never registered with this platform
+    }
+
+    private static int key(Restaurant r) { return r.getAnalyticsKey(); }
+
+    private int categoryKey(String category) {
+        Integer key = categoryKeys.get(category);
+        if (key != null) return key;
+        synchronized (categoryKeys) { // Dense keys - assigned one at a time
+            return categoryKeys.computeIfAbsent(category, c -> categoryKeys.size());
+        }
+    }
+
+    private long withCategory(String category, IntToLongFunction query) {
+        Integer key = categoryKeys.get(category);
+        return key == null ? 0 : query.applyAsLong(key);
+    }
+
+    private static boolean seenBefore(Order order, int line, String category) {
+        for (int j = 0; j < line; j++) if (order.getLineItem(j).getCategory().equals(category)) return true;
+        return false;
+    }
+
+    private static double[] rupees(long[] paise) {
+        double[] values = new double[paise.length];
+        for (int i = 0; i < paise.length; i++) values[i] = paise[i] / 100.0;
+        return values;
+    }
+
+    private static long now() { return System.currentTimeMillis(); }
+}
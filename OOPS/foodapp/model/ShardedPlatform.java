@@ -0,0 +1,130 @@
+package foodapp.model;
+
+import foodapp.exceptions.RestaurantClosedException;
+import foodapp.exceptions.RestaurantOverloadedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// SHARDING + ROUTER - One FoodDeliveryApp per city/region, each with its own restaurants, partners and orders
+// Every shard is driven by its own single-threaded executor, so shards never contend with each other
+// and throughput grows with the number of regions (and cores). The singleton remains the "default" shard.
+
+public class ShardedPlatform implements AutoCloseable {
+
+    private final List<Shard> shards = new CopyOnWriteArrayList<>();
+    private final Shard defaultShard;
+
+    // Default Constructor - starts with the existing singleton as the only (default) shard
+    public ShardedPlatform() {
+        defaultShard = new Shard(FoodDeliveryApp.getInstance(), null, 0);
+        shards.add(defaultShard);
+    }
+
+    // Method to add a region served by its own shard; locations within radiusKm of the center are routed to it
+    public FoodDeliveryApp addRegion(String name, double latitude, double longitude, double radiusKm) {
+        Shard shard = new Shard(new FoodDeliveryApp(name), new GeoPoint(latitude, longitude), radiusKm);
+        shards.add(shard);
+        return shard.app;
+    }
+
+    // ROUTING - the closest region whose radius covers the location, otherwise the default shard
+    public FoodDeliveryApp route(GeoPoint location) {
+        return shardFor(location).app;
+    }
+
+    // Methods mirroring the single-instance API - each call runs on the owning shard's executor
+    public CompletableFuture<FoodDeliveryApp> registerRestaurant(Restaurant r) {
+        Shard shard = shardFor(r.getLocation());
+        return CompletableFuture.supplyAsync(() -> {
+            shard.app.registerRestaurant(r);
+            return shard.app;
+        }, shard.executor);
+    }
+
+    public CompletableFuture<FoodDeliveryApp> registerPartner(DeliveryPartner p) {
+        Shard shard = shardFor(p.getLocation());
+        return CompletableFuture.supplyAsync(() -> {
+            shard.app.registerPartner(p);
+            return shard.app;
+        }, shard.executor);
+    }
+
+    // Method to place an order on the shard owning its restaurant (the order was built against that shard)
+    public CompletableFuture<OrderResult> placeOrder(User user, Order order, boolean isPriority) {
+        Shard shard = shardOf(order.platform());
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                order.placeOrder(isPriority);
+            } catch (RestaurantOverloadedException e) { // Subclass first - open, but at its kitchen or rate limit
+                return OrderResult.failed(order, OrderResult.Status.RESTAURANT_BUSY);
+            } catch (RestaurantClosedException e) {
+                return OrderResult.failed(order, OrderResult.Status.RESTAURANT_CLOSED);
+            }
+            user.placeOrder(order, shard.app);
+            return OrderResult.placed(order, order.getDeliveryPartner());
+        }, shard.executor);
+    }
+
+    // Getter - every shard, the default one first
+    public List<FoodDeliveryApp> getShards() {
+        List<FoodDeliveryApp> apps = new ArrayList<>();
+        for (Shard s : shards) apps.add(s.app);
+        return apps;
+    }
+
+    @Override
+    public void close() {
+        for (Shard s : shards) {
+            s.executor.shutdown();
+            try {
+                s.executor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Shard shardFor(GeoPoint location) {
+        if (location == null) return defaultShard;
+        Shard best = defaultShard;
+        double bestKm = Double.MAX_VALUE;
+        for (Shard s : shards) {
+            if (s.center == null) continue;
+            double km = s.center.distanceKm(location);
+            if (km <= s.radiusKm && km < bestKm) {
+                best = s;
+                bestKm = km;
+            }
+        }
+        return best;
+    }
+
+    private Shard shardOf(FoodDeliveryApp app) {
+        for (Shard s : shards) if (s.app == app) return s;
+        return defaultShard;
+    }
+
+    // 'static' nested class - one region: its platform instance, its area and its executor
+    private static final class Shard {
+        final FoodDeliveryApp app;
+        final GeoPoint center; // null for the default shard
+        final double radiusKm;
+        final ExecutorService executor;
+
+        Shard(FoodDeliveryApp app, GeoPoint center, double radiusKm) {
+            this.app = app;
+            this.center = center;
+            this.radiusKm = radiusKm;
+            this.executor = Executors.newSingleThreadExecutor(task -> {
+                Thread t = new Thread(task, "shard-" + app.getRegion());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package foodapp.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+// GENERICS + UNIFORM GRID SPATIAL INDEX
+// Space is cut into square cells; each cell keeps the entities inside it, so a query only visits nearby cells
+
+public class SpatialGridIndex<T> { // 'T' is a type parameter - the index works for partners, restaurants, users...
+
+    private final double cellDegrees; // Cell edge length in degrees
+    private final double cellKm; // Cell edge length in km (north-south)
+    private final Map<Long, Set<T>> cells = new ConcurrentHashMap<>(); // Cell key -> entities in that cell
+    private final Map<T, GeoPoint> positions = new ConcurrentHashMap<>(); // Entity -> last known position
+
+    // Parameterized Constructor - Initialization of the grid with a cell size in km
+    public SpatialGridIndex(double cellKm) {
+        if (cellKm <= 0) throw new IllegalArgumentException("Cell size must be positive");
+        this.cellKm = cellKm;
+        this.cellDegrees = GeoPoint.kmToDegrees(cellKm);
+    }
+
+    // Method to insert or move an entity - incremental, only the old and new cells are touched
+    public void update(T entity, GeoPoint point) {
+        positions.compute(entity, (e, old) -> { // compute() is atomic per entity
+            long newKey = cellKey(point);
+            if (old != null) {
+                long oldKey = cellKey(old);
+                if (oldKey == newKey) return point; // Still in the same cell - nothing to relink
+                removeFromCell(oldKey, e);
+            }
+            cells.compute(newKey, (k, set) -> { // Add inside compute() so a concurrent removal cannot drop the cell
+                if (set == null) set = ConcurrentHashMap.newKeySet();
+                set.add(e);
+                return set;
+            });
+            return point;
+        });
+    }
+
+    // Method to remove an entity from the index
+    public void remove(T entity) {
+        positions.computeIfPresent(entity, (e, old) -> {
+            removeFromCell(cellKey(old), e);
+            return null; // Returning null removes the mapping
+        });
+    }
+
+    // Method to find the k nearest entities accepted by the filter, searching at most maxKm away
+    // Rings of cells are visited outwards and the search stops once no unvisited cell can hold a closer entity
+    public List<T> nearest(GeoPoint center, int k, double maxKm, Predicate<? super T> filter) {
+        if (k <= 0) return new ArrayList<>();
+        PriorityQueue<Candidate<T>> best = new PriorityQueue<>(Comparator.comparingDouble((Candidate<T> c) -> c.distance).reversed()); // Max-heap of the k best
+        int cx = cellX(center), cy = cellY(center);
+        double ringKm = cellKm * Math.cos(Math.toRadians(center.getLatitude())); // Narrowest cell side at this latitude
+        int maxRing = (int) Math.ceil(maxKm / ringKm) + 1;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best.size() == k && best.peek().distance <= (ring - 1) * ringKm) break; // Nothing closer can remain
+            if (ring == 0) {
+                scanCell(cx, cy, center, k, maxKm, filter, best);
+                continue;
+            }
+            for (int x = cx - ring; x <= cx + ring; x++) { // Top and bottom rows of the ring
+                scanCell(x, cy - ring, center, k, maxKm, filter, best);
+                scanCell(x, cy + ring, center, k, maxKm, filter, best);
+            }
+            for (int y = cy - ring + 1; y <= cy + ring - 1; y++) { // Left and right columns of the ring
+                scanCell(cx - ring, y, center, k, maxKm, filter, best);
+                scanCell(cx + ring, y, center, k, maxKm, filter, best);
+            }
+        }
+
+        List<T> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) result.add(best.poll().entity);
+        Collections.reverse(result); // Closest first
+        return result;
+    }
+
+    // Method to find every entity accepted by the filter within radiusKm of the center
+    public List<T> withinRadius(GeoPoint center, double radiusKm, Predicate<? super T> filter) {
+        double latSpan = GeoPoint.kmToDegrees(radiusKm);
+        double lonSpan = latSpan / Math.max(0.01, Math.cos(Math.toRadians(center.getLatitude())));
+        int minX = (int) Math.floor((center.getLongitude() - lonSpan) / cellDegrees);
+        int maxX = (int) Math.floor((center.getLongitude() + lonSpan) / cellDegrees);
+        int minY = (int) Math.floor((center.getLatitude() - latSpan) / cellDegrees);
+        int maxY = (int) Math.floor((center.getLatitude() + latSpan) / cellDegrees);
+
+        List<T> result = new ArrayList<>();
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                Set<T> cell = cells.get(key(x, y));
+                if (cell == null) continue;
+                for (T entity : cell) {
+                    GeoPoint p = positions.get(entity);
+                    if (p != null && filter.test(entity) && center.distanceKm(p) <= radiusKm) result.add(entity);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Getter - number of indexed entities
+    public int size() { return positions.size(); }
+
+    // Helper - offer every matching entity of one cell to the bounded max-heap
+    private void scanCell(int x, int y, GeoPoint center, int k, double maxKm,
+                          Predicate<? super T> filter, PriorityQueue<Candidate<T>> best) {
+        Set<T> cell = cells.get(key(x, y));
+        if (cell == null) return;
+        for (T entity : cell) {
+            GeoPoint p = positions.get(entity);
+            if (p == null || !filter.test(entity)) continue;
+            double d = center.distanceKm(p);
+            if (d > maxKm) continue;
+            if (best.size() < k) best.add(new Candidate<>(entity, d));
+            else if (d < best.peek().distance) {
+                best.poll();
+                best.add(new Candidate<>(entity, d));
+            }
+        }
+    }
+
+    private void removeFromCell(long key, T entity) {
+        cells.computeIfPresent(key, (k, set) -> {
+            set.remove(entity);
+            return set.isEmpty() ? null : set; // Drop empty cells so the map stays small
+        });
+    }
+
+    private int cellX(GeoPoint p) { return (int) Math.floor(p.getLongitude() / cellDegrees); }
+    private int cellY(GeoPoint p) { return (int) Math.floor(p.getLatitude() / cellDegrees); }
+    private long cellKey(GeoPoint p) { return key(cellX(p), cellY(p)); }
+    private static long key(int x, int y) { return ((long) y << 32) | (x & 0xffffffffL); } // Pack two ints into one long
+
+    // 'static' nested class - a heap entry pairing an entity with its distance
+    private static final class Candidate<T> {
+        final T entity;
+        final double distance;
+        Candidate(T entity, double distance) { this.entity = entity; this.distance = distance; }
+    }
+}
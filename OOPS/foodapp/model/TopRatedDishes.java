@@ -0,0 +1,67 @@
+package foodapp.model;
+
+import foodapp.interfaces.Rateable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+// INCREMENTAL RANKING - "best rated dishes" kept sorted as ratings arrive
+// Each rating moves one entry in a sorted set (O(log n)); reading the top K never recomputes anything
+
+public class TopRatedDishes {
+
+    private static final AtomicLong TIE_BREAKER = new AtomicLong(); // Keeps equal scores distinct in the sorted set
+
+    private final int minRatings; // Dishes with fewer ratings are not ranked yet
+    private final Map<MenuItem, Score> scores = new ConcurrentHashMap<>();
+    private final NavigableSet<Score> ranking = new ConcurrentSkipListSet<>(
+            Comparator.comparingDouble((Score s) -> s.average).reversed()
+                    .thenComparing(Comparator.comparingLong((Score s) -> s.count).reversed())
+                    .thenComparingLong(s -> s.tieBreaker));
+
+    // Parameterized Constructor - Initialization with a minimum number of ratings
+    public TopRatedDishes(int minRatings) {
+        this.minRatings = minRatings;
+    }
+
+    // Package-private - called by rated dishes after each new rating
+    // Bounded Generics - the dish must be both a MenuItem and Rateable
+    <T extends MenuItem & Rateable> void update(T dish) {
+        scores.compute(dish, (key, old) -> { // compute() serializes updates of the same dish
+            if (old != null) ranking.remove(old); // Scores are immutable - swap the old entry for a new one
+            long count = dish.getRatingCount(); // Read inside compute() so the latest rating always wins
+            Score score = new Score(key, dish.getAverageRating(), count);
+            if (count >= minRatings) ranking.add(score);
+            return score;
+        });
+    }
+
+    // Method to read the K best rated dishes
+    public List<MenuItem> top(int k) {
+        List<MenuItem> result = new ArrayList<>(k);
+        for (Score s : ranking) {
+            if (result.size() == k) break;
+            result.add(s.item);
+        }
+        return result;
+    }
+
+    // 'static' nested class - immutable snapshot of one dish's score
+    private static final class Score {
+        final MenuItem item;
+        final double average;
+        final long count;
+        final long tieBreaker = TIE_BREAKER.incrementAndGet();
+
+        Score(MenuItem item, double average, long count) {
+            this.item = item;
+            this.average = average;
+            this.count = count;
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package foodapp.model;
 
-import java.util.ArrayList;
 import java.util.List;
 
 // COMPOSITION (HAS-A Relationship) + ENCAPSULATION
@@ -10,7 +9,9 @@ public class User {
     private String name; // 'private' access modifier for encapsulation
     private String phone;
     private String address;
-    private List<Order> orderHistory = new ArrayList<>(); // Composition - User HAS-A Order History
+    private GeoPoint location; // Optional coordinates of the delivery address
+    private final OrderHistory orderHistory = new OrderHistory(RECENT_ORDERS); // Composition - User HAS-A Order History (recent orders + older ids)
+    private static final int RECENT_ORDERS = 10; // Orders kept as objects; older ones are kept by id only
 
     // Parameterized Constructor - Initialization of User object
     public User(String name, String phone, String address) {
@@ -19,12 +20,29 @@ public class User {
         this.address = address;
     }
 
+    // Overloaded Constructor - User with coordinates
+    public User(String name, String phone, String address, double latitude, double longitude) {
+        this(name, phone, address); // Constructor Chaining
+        this.location = new GeoPoint(latitude, longitude);
+    }
+
     // Method to place an order - Association (USES-A Relationship)
     public void placeOrder(Order order) {
+        placeOrder(order, order.platform()); // Association - User USES-A FoodDeliveryApp (the restaurant's platform, usually the Singleton)
+    }
+
+    // Overloaded Method - record the order on a specific platform instance
+    void placeOrder(Order order, FoodDeliveryApp app) {
         orderHistory.add(order);
-        FoodDeliveryApp.getInstance().addOrder(order); // Association - User USES-A FoodDeliveryApp (Singleton)
+        app.addOrder(order);
     }
 
     // Getters (Encapsulation) - 'public' methods to access 'private' fields
     public String getName() { return name; }
+    public String getPhone() { return phone; }
+    public String getAddress() { return address; }
+    public GeoPoint getLocation() { return location; }
+    public OrderHistory getOrderHistory() { return orderHistory; }
+    public List<Order> getRecentOrders(int n) { return orderHistory.getRecent(n); }
+    public Order getLastOrder() { return orderHistory.getLast(); }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package foodapp.sim;
+
+import foodapp.model.*;
+import java.util.SplittableRandom;
+
+// SYNTHETIC CITY - restaurants with menus, delivery partners and users, all derived from one seed
+// Everything is placed inside a disc around the city centre; restaurant popularity follows a Zipf-like
+// curve so a few kitchens take a large share of the orders, as in real cities
+
+public final class City {
+
+    private static final double CENTER_LAT = 19.07, CENTER_LON = 72.88; // Mumbai
+    private static final double RADIUS_KM = 12.0;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double POPULARITY_SKEW = 0.8; // Zipf exponent for restaurant choice
+
+    private static final String[] VEG = { "Paneer Tikka", "Dal Makhani", "Veg Biryani", "Masala Dosa", "Chole Bhature",
+            "Palak Paneer", "Veg Thali", "Pav Bhaji", "Aloo Paratha", "Malai Kofta" };
+    private static final String[] NON_VEG = { "Butter Chicken", "Chicken Biryani", "Mutton Rogan Josh", "Fish Curry",
+            "Chicken Tikka", "Egg Curry", "Prawn Masala", "Keema Pav", "Tandoori Chicken", "Chicken 65" };
+
+    final Restaurant[] restaurants;
+    final MenuItem[][] menus; // menus[r] - dishes of restaurants[r]
+    final DeliveryPartner[] partners;
+    final User[] users;
+    private final double[] popularity; // Cumulative choice weights, last entry = 1.0
+
+    // Parameterized Constructor - builds the city and registers it with the platform
+    City(FoodDeliveryApp app, long seed, int restaurantCount, int dishesPerMenu, int partnerCount, int userCount) {
+        SplittableRandom random = new SplittableRandom(seed);
+        restaurants = new Restaurant[restaurantCount];
+        menus = new MenuItem[restaurantCount][dishesPerMenu];
+        for (int r = 0; r < restaurantCount; r++) {
+            double[] at = randomPoint(random);
+            restaurants[r] = new Restaurant("Kitchen " + r, "Zone " + (r % 24), at[0], at[1]);
+            app.registerRestaurant(restaurants[r]);
+            for (int d = 0; d < dishesPerMenu; d++) {
+                boolean veg = random.nextInt(100) < 55;
+                String name = (veg ? VEG : NON_VEG)[random.nextInt(10)];
+                double price = 60 + 10 * random.nextInt(veg ? 35 : 50); // ₹60 - ₹550
+                String id = "R" + r + "-" + d;
+                menus[r][d] = veg ? new VegDish(id, name, price) : new NonVegDish(id, name, price);
+                restaurants[r].addMenuItem(menus[r][d]);
+            }
+        }
+        partners = new DeliveryPartner[partnerCount];
+        for (int p = 0; p < partnerCount; p++) {
+            double[] at = randomPoint(random);
+            partners[p] = new DeliveryPartner("Rider " + p, at[0], at[1]);
+            app.registerPartner(partners[p]);
+        }
+        users = new User[userCount];
+        for (int u = 0; u < userCount; u++) {
+            double[] at = randomPoint(random);
+            users[u] = new User("User " + u, String.format("9%09d", u), "Zone " + (u % 24), at[0], at[1]);
+        }
+        popularity = new double[restaurantCount];
+        double total = 0;
+        for (int r = 0; r < restaurantCount; r++) popularity[r] = total += 1.0 / Math.pow(r + 1, POPULARITY_SKEW);
+        for (int r = 0; r < restaurantCount; r++) popularity[r] /= total;
+    }
+
+    // Method to pick a restaurant index, popular kitchens more often - binary search over cumulative weights
+    int pickRestaurant(SplittableRandom random) {
+        double x = random.nextDouble();
+        int lo = 0, hi = popularity.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (popularity[mid] < x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Uniform point inside the city disc
+    private static double[] randomPoint(SplittableRandom random) {
+        double r = RADIUS_KM * Math.sqrt(random.nextDouble());
+        double angle = 2 * Math.PI * random.nextDouble();
+        double lat = CENTER_LAT + r * Math.sin(angle) / KM_PER_DEGREE;
+        double lon = CENTER_LON + r * Math.cos(angle) / (KM_PER_DEGREE * Math.cos(Math.toRadians(CENTER_LAT)));
+        return new double[] { lat, lon };
+    }
+}
@@ -0,0 +1,252 @@
+package foodapp.sim;
+
+import foodapp.exceptions.RestaurantClosedException;
+import foodapp.model.*;
+import foodapp.util.LatencyHistogram;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// LOAD SIMULATOR - replays one synthetic day of a city against the real FoodDeliveryApp / Order APIs
+// The city and the whole order schedule are derived from the seed before the clock starts, so two runs with
+// the same seed offer exactly the same work (same users, restaurants, dishes and arrival times); only the
+// thread interleaving differs. The day is compressed into a few wall-clock seconds and replayed open-loop:
+// latency is measured from each order's scheduled time, so a stall shows up in the tail instead of hiding it
+//
+// Usage: java foodapp.sim.CitySimulator [--seed 42] [--restaurants 200] [--dishes 20] [--partners 3000]
+//        [--users 20000] [--peak 6000] [--day-seconds 60] [--threads 4]
+
+public final class CitySimulator {
+
+    private static final int PRIORITY_PERCENT = 10;
+    private static final double PREP_MINUTES_MIN = 8, PREP_MINUTES_MAX = 20;
+    private static final double RIDE_MINUTES_PER_KM = 3;
+    private static final int SAMPLES_PER_HOUR = 12; // Partner utilization sampled every simulated 5 minutes
+
+    // Run settings - chainable setters (Method Chaining), defaults describe a mid-size city
+    public static final class Config {
+        long seed = 42;
+        int restaurants = 200, dishes = 20, partners = 3000, users = 20_000, threads = 4;
+        double peakOrdersPerHour = 6000;
+        double daySeconds = 60;
+
+        public Config seed(long v) { seed = v; return this; }
+        public Config restaurants(int v) { restaurants = v; return this; }
+        public Config dishes(int v) { dishes = v; return this; }
+        public Config partners(int v) { partners = v; return this; }
+        public Config users(int v) { users = v; return this; }
+        public Config peakOrdersPerHour(double v) { peakOrdersPerHour = v; return this; }
+        public Config daySeconds(double v) { daySeconds = v; return this; }
+        public Config threads(int v) { threads = v; return this; }
+    }
+
+    private final Config config;
+    private final FoodDeliveryApp app;
+    private final City city;
+    private final long[] arrivalAt; // Simulated millis since midnight, ascending
+    private final int[] arrivalUser;
+    private final int[] arrivalRestaurant;
+    private final long[] arrivalSeed; // Seeds the dishes, quantity and priority of each order
+    private final long fingerprint; // Hash of the schedule - equal fingerprints mean identical workloads
+
+    private final LatencyHistogram responseTime = new LatencyHistogram(); // From scheduled arrival to paid order
+    private final LatencyHistogram serviceTime = new LatencyHistogram(); // placeOrder + processPayment only
+    private final AtomicLongArray ordersByHour = new AtomicLongArray(24);
+    private final AtomicLongArray unservedByHour = new AtomicLongArray(24);
+    private final long[] busySamples = new long[24]; // Written by the sampler thread only
+    private final long[] sampleCount = new long[24];
+    private long peakBusy; // Sampler thread only - read after join()
+
+    // Parameterized Constructor - synthesizes the city and the day's schedule on the given platform
+    public CitySimulator(FoodDeliveryApp app, Config config) {
+        this.app = app;
+        this.config = config;
+        SplittableRandom random = new SplittableRandom(config.seed);
+        this.city = new City(app, random.nextLong(), config.restaurants, config.dishes, config.partners, config.users);
+        this.arrivalAt = new DiurnalCurve(config.peakOrdersPerHour).arrivals(random.split());
+        int n = arrivalAt.length;
+        arrivalUser = new int[n];
+        arrivalRestaurant = new int[n];
+        arrivalSeed = new long[n];
+        long hash = config.seed;
+        for (int i = 0; i < n; i++) {
+            arrivalUser[i] = random.nextInt(config.users);
+            arrivalRestaurant[i] = city.pickRestaurant(random);
+            arrivalSeed[i] = random.nextLong();
+            hash = 31 * (31 * (31 * hash + arrivalAt[i]) + arrivalUser[i]) + arrivalRestaurant[i];
+        }
+        this.fingerprint = hash;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Config config = new Config();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String v = args[i + 1];
+            switch (args[i]) {
+                case "--seed": config.seed(Long.parseLong(v)); break;
+                case "--restaurants": config.restaurants(Integer.parseInt(v)); break;
+                case "--dishes": config.dishes(Integer.parseInt(v)); break;
+                case "--partners": config.partners(Integer.parseInt(v)); break;
+                case "--users": config.users(Integer.parseInt(v)); break;
+                case "--peak": config.peakOrdersPerHour(Double.parseDouble(v)); break;
+                case "--day-seconds": config.daySeconds(Double.parseDouble(v)); break;
+                case "--threads": config.threads(Integer.parseInt(v)); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        OrderEvents.setSink(line -> { }); // Hundreds of thousands of events - keep the console for the report
+        System.out.println(new CitySimulator(FoodDeliveryApp.getInstance(), config).run());
+    }
+
+    // Method to replay the day on config.threads threads and return the report
+    public String run() throws InterruptedException {
+        double simMillisPerNano = 86_400_000.0 / (config.daySeconds * 1e9);
+        long start = System.nanoTime() + 50_000_000L; // Small head start so every thread is ready at t=0
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < config.threads; t++) {
+            final int first = t;
+            Thread worker = new Thread(() -> replay(first, start, simMillisPerNano), "sim-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        Thread sampler = new Thread(() -> sample(start, simMillisPerNano), "sim-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+        for (Thread worker : workers) worker.join();
+        long elapsed = System.nanoTime() - start;
+        sampler.interrupt();
+        sampler.join();
+        return report(elapsed);
+    }
+
+    // WORKER - takes every threads-th arrival, waits for its scheduled time, places and pays for it;
+    // deliveries are finished by the same thread when their simulated ride is over
+    private void replay(int first, long start, double simMillisPerNano) {
+        PriorityQueue<Delivery> deliveries = new PriorityQueue<>(); // Min-heap ordered by due time
+        for (int i = first; i < arrivalAt.length; i += config.threads) {
+            long due = start + (long) (arrivalAt[i] / simMillisPerNano);
+            while (true) { // Rides that have ended go first, even when this thread is running behind
+                long now = System.nanoTime();
+                Delivery next = deliveries.peek();
+                if (next != null && next.dueNanos <= now) finish(deliveries.poll());
+                else if (now >= due) break;
+                else LockSupport.parkNanos(Math.min(due, next == null ? due : next.dueNanos) - now);
+            }
+            Delivery d = place(i, due, simMillisPerNano);
+            if (d != null) deliveries.add(d);
+        }
+        Delivery d;
+        while ((d = deliveries.poll()) != null) finish(d); // End of the day - hand everything over
+    }
+
+    private Delivery place(int i, long scheduled, double simMillisPerNano) {
+        SplittableRandom random = new SplittableRandom(arrivalSeed[i]);
+        User user = city.users[arrivalUser[i]];
+        int r = arrivalRestaurant[i];
+        MenuItem[] menu = city.menus[r];
+        int hour = (int) (arrivalAt[i] / 3_600_000);
+        ordersByHour.incrementAndGet(hour);
+
+        long begin = System.nanoTime();
+        Order order = new Order(user, city.restaurants[r]);
+        int dishes = 1 + random.nextInt(4);
+        for (int k = 0; k < dishes; k++) order.addItem(menu[random.nextInt(menu.length)]);
+        user.placeOrder(order);
+        try {
+            order.placeOrder(random.nextInt(100) < PRIORITY_PERCENT);
+        } catch (RestaurantClosedException e) {
+            app.completeOrder(order);
+            return null;
+        }
+        order.processPayment(order.getTotalAmount());
+        long end = System.nanoTime();
+        serviceTime.record(end - begin);
+        responseTime.record(end - scheduled);
+
+        DeliveryPartner partner = order.getDeliveryPartner();
+        if (partner == null) { // Nobody free - the order is lost for this simulation
+            unservedByHour.incrementAndGet(hour);
+            app.completeOrder(order);
+            return null;
+        }
+        double rideKm = partner.getLocation() == null || user.getLocation() == null ? 3
+                : partner.getLocation().distanceKm(city.restaurants[r].getLocation())
+                + city.restaurants[r].getLocation().distanceKm(user.getLocation());
+        double minutes = PREP_MINUTES_MIN + random.nextDouble() * (PREP_MINUTES_MAX - PREP_MINUTES_MIN)
+                + rideKm * RIDE_MINUTES_PER_KM;
+        return new Delivery(end + (long) (minutes * 60_000 / simMillisPerNano), order, partner, user);
+    }
+
+    private void finish(Delivery d) {
+        d.partner.pickUp();
+        GeoPoint to = d.user.getLocation();
+        if (to != null) d.partner.moveTo(to.getLatitude(), to.getLongitude()); // Partner ends the ride at the customer
+        if (!d.partner.deliver(d.order)) app.completeOrder(d.order); // Lifecycle moved it on - still close it out
+    }
+
+    // SAMPLER - share of partners busy, bucketed by simulated hour
+    private void sample(long start, double simMillisPerNano) {
+        long periodNanos = (long) (3_600_000.0 / SAMPLES_PER_HOUR / simMillisPerNano);
+        while (!Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(periodNanos);
+            long simMillis = (long) ((System.nanoTime() - start) * simMillisPerNano);
+            if (simMillis < 0 || simMillis >= 86_400_000) continue;
+            long busy = 0;
+            for (DeliveryPartner p : city.partners) if (!p.isAvailable()) busy++;
+            int hour = (int) (simMillis / 3_600_000);
+            busySamples[hour] += busy;
+            sampleCount[hour]++;
+            if (busy > peakBusy) peakBusy = busy;
+        }
+    }
+
+    private String report(long elapsedNanos) {
+        long orders = 0, unserved = 0, busy = 0, samples = 0;
+        for (int h = 0; h < 24; h++) {
+            orders += ordersByHour.get(h);
+            unserved += unservedByHour.get(h);
+            busy += busySamples[h];
+            samples += sampleCount[h];
+        }
+        int partners = city.partners.length;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("City seed=%d: %d restaurants x %d dishes, %d partners, %d users%n",
+                config.seed, city.restaurants.length, config.dishes, partners, city.users.length));
+        out.append(String.format("Workload: %d orders (peak %.0f/h) in a %.0fs day on %d threads, fingerprint %016x%n",
+                arrivalAt.length, config.peakOrdersPerHour, config.daySeconds, config.threads, fingerprint));
+        out.append(String.format("Throughput: %.0f orders/s over %.2fs%n", orders * 1e9 / elapsedNanos, elapsedNanos / 1e9));
+        out.append("Response time (from schedule): ").append(responseTime.snapshot()).append('\n');
+        out.append("Service time (place + pay):     ").append(serviceTime.snapshot()).append('\n');
+        out.append(String.format("Unserved (no partner): %d (%.2f%%)%n", unserved, orders == 0 ? 0 : 100.0 * unserved / orders));
+        out.append(String.format("Partner utilization: mean %.1f%%, peak %.1f%%%n",
+                samples == 0 ? 0 : 100.0 * busy / samples / partners, 100.0 * peakBusy / partners));
+        out.append("Hour  Orders  Unserved  Utilization\n");
+        for (int h = 0; h < 24; h++) {
+            out.append(String.format("%02d:00 %7d %9d %11.1f%%%n", h, ordersByHour.get(h), unservedByHour.get(h),
+                    sampleCount[h] == 0 ? 0 : 100.0 * busySamples[h] / sampleCount[h] / partners));
+        }
+        out.append(app.getMetrics().snapshot());
+        return out.toString();
+    }
+
+    // One order on its way - ordered by the wall-clock time its simulated ride ends
+    private static final class Delivery implements Comparable<Delivery> {
+        final long dueNanos;
+        final Order order;
+        final DeliveryPartner partner;
+        final User user;
+
+        Delivery(long dueNanos, Order order, DeliveryPartner partner, User user) {
+            this.dueNanos = dueNanos;
+            this.order = order;
+            this.partner = partner;
+            this.user = user;
+        }
+
+        @Override
+        public int compareTo(Delivery other) { return Long.compare(dueNanos, other.dueNanos); }
+    }
+}
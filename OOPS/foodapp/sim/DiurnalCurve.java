@@ -0,0 +1,54 @@
+package foodapp.sim;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// DIURNAL ORDER CURVE - how many orders per hour a city places at each time of day
+// A quiet night floor plus a lunch peak and a (larger, wider) dinner peak, each a Gaussian bump;
+// arrivals are drawn as a non-homogeneous Poisson process by thinning, so they are seeded and repeatable
+
+public final class DiurnalCurve {
+
+    private static final double NIGHT_FLOOR = 0.04; // Share of the peak rate at 4am
+    private static final double LUNCH_HOUR = 13.0, LUNCH_WIDTH = 1.2, LUNCH_SHARE = 0.75;
+    private static final double DINNER_HOUR = 20.5, DINNER_WIDTH = 1.6, DINNER_SHARE = 1.0;
+
+    private final double peakOrdersPerHour;
+
+    // Parameterized Constructor - the curve is scaled so its highest point is peakOrdersPerHour
+    public DiurnalCurve(double peakOrdersPerHour) {
+        this.peakOrdersPerHour = peakOrdersPerHour;
+    }
+
+    // Method to get the order rate (orders per hour) at a time of day given in hours [0, 24)
+    public double ratePerHour(double hourOfDay) {
+        double shape = NIGHT_FLOOR
+                + LUNCH_SHARE * bump(hourOfDay, LUNCH_HOUR, LUNCH_WIDTH)
+                + DINNER_SHARE * bump(hourOfDay, DINNER_HOUR, DINNER_WIDTH);
+        return peakOrdersPerHour * Math.min(1.0, shape);
+    }
+
+    // Method to draw the arrival times (simulated milliseconds since midnight) of one day of orders
+    public long[] arrivals(SplittableRandom random) {
+        double maxPerMilli = peakOrdersPerHour / 3_600_000.0;
+        long[] times = new long[1024];
+        int n = 0;
+        double t = 0;
+        while (true) {
+            t += -Math.log(1.0 - random.nextDouble()) / maxPerMilli; // Candidate at the peak rate...
+            if (t >= 86_400_000) break;
+            if (random.nextDouble() * peakOrdersPerHour < ratePerHour(t / 3_600_000.0)) { // ...kept with probability rate/peak
+                if (n == times.length) times = Arrays.copyOf(times, n * 2);
+                times[n++] = (long) t;
+            }
+        }
+        return Arrays.copyOf(times, n);
+    }
+
+    // Gaussian bump that wraps around midnight
+    private static double bump(double hour, double center, double width) {
+        double d = Math.abs(hour - center);
+        d = Math.min(d, 24 - d);
+        return Math.exp(-0.5 * d * d / (width * width));
+    }
+}
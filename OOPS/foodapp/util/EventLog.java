@@ -0,0 +1,171 @@
+package foodapp.util;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// ASYNCHRONOUS STRUCTURED LOG - Producers copy a few primitive fields into a preallocated ring-buffer slot;
+// a background thread formats the entries and writes them to a Sink, so no I/O or string building happens on the caller thread
+
+public class EventLog implements AutoCloseable {
+
+    // 'interface' nested in the class - where formatted lines go (console, rotating file, ...)
+    public interface Sink {
+        void write(CharSequence line) throws IOException;
+        default void flush() throws IOException { } // Default method - optional for implementations
+        default void close() throws IOException { } // Called when the log replaces or closes the sink
+    }
+
+    // 'functional interface' - turns one entry into text, reusing the same StringBuilder
+    @FunctionalInterface
+    public interface Formatter {
+        void format(EventType type, long orderId, double amount, long timestampMillis, StringBuilder out);
+    }
+
+    private final Entry[] ring; // Preallocated once - no allocation per event
+    private final int mask; // capacity - 1, capacity is a power of two
+    private final AtomicLong cursor = new AtomicLong(); // Next sequence a producer will claim
+    private volatile long consumed; // Sequences below this have been written to the sink
+    private final Formatter formatter;
+    private volatile Sink sink; // Owned by the log - closed when replaced or when the log closes
+    private final Object sinkLock = new Object(); // Sinks are not thread-safe - the drainer, setSink and close take turns
+    private volatile boolean running = true;
+    private final Thread drainer;
+
+    // Parameterized Constructor - starts the background drainer thread
+    public EventLog(int capacity, Formatter formatter, Sink sink) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be a power of two");
+        this.ring = new Entry[capacity];
+        for (int i = 0; i < capacity; i++) ring[i] = new Entry(i);
+        this.mask = capacity - 1;
+        this.formatter = formatter;
+        this.sink = sink;
+        this.drainer = new Thread(this::drain, "event-log");
+        drainer.setDaemon(true);
+        drainer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close)); // Pending events are written and the sink flushed before the JVM exits
+    }
+
+    // Overloaded Methods - record an event (called on the hot path)
+    public void log(EventType type) {
+        log(type, 0, 0);
+    }
+
+    public void log(EventType type, long orderId, double amount) {
+        long seq = cursor.getAndIncrement(); // Claim a slot - one atomic add, no lock
+        Entry e = ring[(int) (seq & mask)];
+        while (e.sequence != seq) { // Ring is full - wait for the drainer to free this slot
+            if (!running || !drainer.isAlive()) return; // Closed - drop the event rather than wait forever
+            Thread.onSpinWait();
+        }
+        e.type = type;
+        e.orderId = orderId;
+        e.amount = amount;
+        e.timestampMillis = System.currentTimeMillis();
+        e.sequence = seq + 1; // Volatile write publishes the fields to the drainer
+    }
+
+    // Method to switch the destination (e.g. from console to a rotating file) at runtime
+    public void setSink(Sink sink) {
+        flush();
+        Sink previous;
+        synchronized (sinkLock) {
+            previous = this.sink;
+            this.sink = sink;
+        }
+        closeSink(previous); // Buffered lines reach the old destination, then its file is released
+    }
+
+    // Method to wait until every event logged so far has been written
+    public void flush() {
+        long target = cursor.get();
+        while (running && drainer.isAlive() && consumed < target) LockSupport.parkNanos(100_000);
+    }
+
+    @Override
+    public synchronized void close() { // 'synchronized' - an explicit close and the shutdown hook may race
+        if (!running) return;
+        flush();
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(1000); // Let the entry being written finish
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeSink(sink);
+    }
+
+    // 'static' factory method - a Sink that prints to standard output
+    public static Sink consoleSink() {
+        PrintStream out = System.out;
+        return out::println; // Method reference implementing the Sink interface
+    }
+
+    // Background loop - formats entries in sequence order and flushes the sink when idle
+    private void drain() {
+        StringBuilder line = new StringBuilder(128); // Reused for every entry
+        long next = 0;
+        while (running) {
+            Entry e = ring[(int) (next & mask)];
+            if (e.sequence != next + 1) { // Nothing published yet
+                flushSink();
+                LockSupport.parkNanos(1_000_000);
+                continue;
+            }
+            line.setLength(0);
+            boolean formatted = false;
+            try {
+                formatter.format(e.type, e.orderId, e.amount, e.timestampMillis, line);
+                formatted = true;
+            } catch (Throwable ex) { // One bad entry is dropped - the drainer must never die, or producers wait forever
+                System.err.println("EventLog format failed: " + ex);
+            }
+            e.type = null;
+            e.sequence = next + ring.length; // Slot is free for the producer one lap later
+            if (formatted) {
+                synchronized (sinkLock) {
+                    try {
+                        sink.write(line);
+                    } catch (Throwable ex) {
+                        System.err.println("EventLog write failed: " + ex);
+                    }
+                }
+            }
+            consumed = ++next;
+        }
+    }
+
+    private void flushSink() {
+        synchronized (sinkLock) {
+            try {
+                sink.flush();
+            } catch (Throwable ex) {
+                System.err.println("EventLog flush failed: " + ex);
+            }
+        }
+    }
+
+    private void closeSink(Sink s) {
+        synchronized (sinkLock) {
+            try {
+                s.flush();
+                s.close();
+            } catch (IOException | RuntimeException ex) {
+                System.err.println("EventLog close failed: " + ex);
+            }
+        }
+    }
+
+    // 'static' nested class - one preallocated ring slot
+    private static final class Entry {
+        volatile long sequence; // == seq: free for producer 'seq'; == seq + 1: published for the drainer
+        EventType type;
+        long orderId;
+        double amount;
+        long timestampMillis;
+
+        Entry(long initialSequence) { this.sequence = initialSequence; }
+    }
+}
@@ -0,0 +1,16 @@
+package foodapp.util;
+
+// ENUM - The kinds of events recorded by the EventLog (a fixed set of named constants)
+
+public enum EventType {
+    PLATFORM_LAUNCHED,
+    ORDER_PLACED,
+    PRIORITY_ASSIGNED,
+    ORDER_READY,
+    NO_PARTNER_AVAILABLE,
+    PAYMENT_SUCCEEDED,
+    PICKUP_MISSED,
+    DELIVERY_LATE,
+    REPLAY_UNRESOLVED_ITEMS,
+    BATCHING_ROUND_FAILED
+}
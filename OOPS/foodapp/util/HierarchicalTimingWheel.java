@@ -0,0 +1,145 @@
+package foodapp.util;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// HIERARCHICAL TIMING WHEEL - Four wheels of 256 buckets; each level's bucket spans a full turn of the level below
+// Scheduling and cancelling are O(1); a timer moves down at most three times before it fires,
+// so hundreds of thousands of pending timeouts cost a few list operations each instead of one scheduled task per timer
+
+public class HierarchicalTimingWheel implements AutoCloseable {
+
+    private static final int LEVELS = 4;
+    private static final int BITS = 8; // 256 buckets per level
+    private static final int SIZE = 1 << BITS;
+    private static final int MASK = SIZE - 1;
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final ArrayDeque<Timeout>[][] wheels; // [level][bucket] - only touched by the wheel thread
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>(); // New timers from any thread
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long currentTick;
+
+    // Parameterized Constructor - with a 10ms tick the wheels cover about 490 days
+    @SuppressWarnings({"unchecked", "rawtypes"}) // Generic array creation
+    public HierarchicalTimingWheel(long tickMillis) {
+        this.tickMillis = tickMillis;
+        this.startMillis = System.currentTimeMillis();
+        this.wheels = new ArrayDeque[LEVELS][SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int b = 0; b < SIZE; b++) wheels[level][b] = new ArrayDeque<>();
+        }
+        this.worker = new Thread(this::run, "timing-wheel");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Method to run a task after the delay - callable from any thread, O(1)
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(task, System.currentTimeMillis() + unit.toMillis(delay));
+        pending.incrementAndGet();
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    // Getter - timers not yet fired (cancelled ones count until the wheel drops them)
+    public int getPendingCount() { return pending.get(); }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    // Wheel thread - sleeps one tick, then catches up with the clock tick by tick
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException e) {
+                if (!running) return;
+            }
+            long targetTick = (System.currentTimeMillis() - startMillis) / tickMillis;
+            while (currentTick < targetTick) {
+                drainIncoming();
+                currentTick++;
+                cascade();
+                expire(wheels[0][(int) (currentTick & MASK)]);
+            }
+            drainIncoming();
+        }
+    }
+
+    private void drainIncoming() {
+        Timeout t;
+        while ((t = incoming.poll()) != null) {
+            if (t.cancelled) {
+                pending.decrementAndGet();
+                continue;
+            }
+            long expiry = (t.deadlineMillis - startMillis + tickMillis - 1) / tickMillis; // Round up to a whole tick
+            t.expiryTick = Math.max(expiry, currentTick + 1); // Overdue timers fire on the next tick
+            place(t);
+        }
+    }
+
+    // Picks the lowest level whose range covers the remaining delay
+    private void place(Timeout t) {
+        long delta = t.expiryTick - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < (1L << (BITS * (level + 1))) || level == LEVELS - 1) {
+                wheels[level][(int) ((t.expiryTick >>> (BITS * level)) & MASK)].add(t);
+                return;
+            }
+        }
+    }
+
+    // When a lower level completes a turn, the next bucket of the level above is redistributed downwards
+    private void cascade() {
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            if ((currentTick & ((1L << (BITS * level)) - 1)) != 0) continue;
+            ArrayDeque<Timeout> bucket = wheels[level][(int) ((currentTick >>> (BITS * level)) & MASK)];
+            int n = bucket.size();
+            for (int i = 0; i < n; i++) {
+                Timeout t = bucket.poll();
+                if (t.cancelled) pending.decrementAndGet();
+                else place(t);
+            }
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout> bucket) {
+        Timeout t;
+        while ((t = bucket.poll()) != null) {
+            pending.decrementAndGet();
+            if (t.cancelled) continue;
+            try {
+                t.task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Timer task failed: " + e);
+            }
+        }
+    }
+
+    // 'static' nested class - handle returned to the caller; cancelling only sets a flag (O(1))
+    public static final class Timeout {
+        private final Runnable task;
+        private final long deadlineMillis;
+        private long expiryTick;
+        private volatile boolean cancelled;
+
+        Timeout(Runnable task, long deadlineMillis) {
+            this.task = task;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        public void cancel() { cancelled = true; }
+        public boolean isCancelled() { return cancelled; }
+    }
+}
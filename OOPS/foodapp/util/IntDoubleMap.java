@@ -0,0 +1,106 @@
+package foodapp.util;
+
+import java.util.Arrays;
+
+// PRIMITIVE HASH MAP - int key -> double value, open addressing with linear probing
+// Two flat arrays, no boxing and no entry objects, so a sparse row of counters costs 12 bytes per key.
+// Not thread-safe - callers guard each map with their own lock
+
+public class IntDoubleMap {
+
+    private static final int EMPTY = -1; // Keys must be non-negative
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] keys;
+    private double[] values;
+    private int size;
+
+    // Default Constructor
+    public IntDoubleMap() {
+        keys = new int[MIN_CAPACITY];
+        values = new double[MIN_CAPACITY];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    // Method to add 'delta' to a key's value (a missing key counts as 0) - O(1) expected
+    public void add(int key, double delta) {
+        if (key < 0) throw new IllegalArgumentException("Keys must be non-negative: " + key);
+        if ((size + 1) * 2 > keys.length) rehash(keys.length * 2, 1, 0); // Load factor at most 0.5
+        int i = slot(key, keys.length - 1);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                values[i] += delta;
+                return;
+            }
+            i = (i + 1) & (keys.length - 1);
+        }
+        keys[i] = key;
+        values[i] = delta;
+        size++;
+    }
+
+    // Method to look up a key
+    public double get(int key, double missing) {
+        int i = slot(key, keys.length - 1);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) return values[i];
+            i = (i + 1) & (keys.length - 1);
+        }
+        return missing;
+    }
+
+    // Method to multiply every value by 'factor' and drop the keys left below 'dropBelow' - one rebuild
+    public void scale(double factor, double dropBelow) {
+        int kept = 0;
+        for (int i = 0; i < keys.length; i++) if (keys[i] != EMPTY && values[i] * factor >= dropBelow) kept++;
+        int capacity = MIN_CAPACITY;
+        while (capacity < kept * 2) capacity <<= 1;
+        rehash(capacity, factor, dropBelow);
+    }
+
+    // Method to keep only the 'max' largest values (ties may keep a few more)
+    public void retainLargest(int max) {
+        if (size <= max) return;
+        double[] sorted = new double[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) if (keys[i] != EMPTY) sorted[n++] = values[i];
+        Arrays.sort(sorted);
+        scale(1, sorted[size - max]); // Values below the max-th largest go
+    }
+
+    // Method to visit every entry - order is unspecified
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) if (keys[i] != EMPTY) visitor.visit(keys[i], values[i]);
+    }
+
+    // Getter - number of keys
+    public int size() { return size; }
+
+    private void rehash(int capacity, double factor, double dropBelow) {
+        int[] oldKeys = keys;
+        double[] oldValues = values;
+        keys = new int[capacity];
+        values = new double[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY || oldValues[i] * factor < dropBelow) continue;
+            int j = slot(oldKeys[i], capacity - 1);
+            while (keys[j] != EMPTY) j = (j + 1) & (capacity - 1);
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i] * factor;
+            size++;
+        }
+    }
+
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9; // Fibonacci hashing - dense ids spread over the table
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // Functional interface - receives one entry at a time, without boxing
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(int key, double value);
+    }
+}
@@ -0,0 +1,110 @@
+package foodapp.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// HDR-STYLE HISTOGRAM - log-linear buckets: every power of two is split into 64 equal sub-buckets,
+// so any recorded value is reported within ~1.6% of its true value from 1ns up to ~36 minutes
+// Recording is one bit-scan plus two uncontended atomic adds (no locks, no allocation); writers are
+// spread over striped count arrays so threads on different cores do not fight over the same cache line
+
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 6; // 64 sub-buckets per power of two
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_BIT = 41; // Values are clamped below 2^41 ns
+    private static final int BUCKETS = (MAX_BIT - SUB_BITS + 1) * SUB_COUNT;
+    private static final int STRIPES = stripeCount();
+
+    private final AtomicLongArray[] counts = new AtomicLongArray[STRIPES]; // One counts array per stripe
+    private final AtomicLongArray sums = new AtomicLongArray(STRIPES * 8); // Padded - one cache line per stripe
+    private final AtomicLong max = new AtomicLong();
+
+    // Default Constructor - preallocates every bucket
+    public LatencyHistogram() {
+        for (int i = 0; i < STRIPES; i++) counts[i] = new AtomicLongArray(BUCKETS);
+    }
+
+    // Method to record one latency in nanoseconds (negative values count as 0)
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), (1L << MAX_BIT) - 1);
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        counts[stripe].getAndIncrement(indexOf(value));
+        sums.getAndAdd(stripe * 8, value);
+        long m;
+        while (value > (m = max.get()) && !max.compareAndSet(m, value)) { } // Usually a single read - the max rarely moves
+    }
+
+    // Method to take a consistent-enough copy for reporting; recording continues meanwhile
+    public Snapshot snapshot() {
+        long[] merged = new long[BUCKETS];
+        long total = 0, sum = 0;
+        for (int s = 0; s < STRIPES; s++) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long c = counts[s].get(i);
+                merged[i] += c;
+                total += c;
+            }
+            sum += sums.get(s * 8);
+        }
+        return new Snapshot(merged, total, sum, max.get());
+    }
+
+    // Bucket index - values below 64 map to themselves, larger values keep their top 7 bits
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return ((shift + 1) << SUB_BITS) + (int) ((value >>> shift) - SUB_COUNT);
+    }
+
+    // Highest value that falls into the bucket (reported like HdrHistogram's "highest equivalent value")
+    static long highestValueOf(int index) {
+        if (index < SUB_COUNT) return index;
+        int shift = (index >>> SUB_BITS) - 1;
+        long sub = index & (SUB_COUNT - 1);
+        return ((SUB_COUNT + sub + 1) << shift) - 1;
+    }
+
+    private static int stripeCount() {
+        int cores = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        return Integer.highestOneBit(Math.max(1, cores - 1) << 1); // Next power of two
+    }
+
+    // Immutable view of the histogram at one point in time
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() { return count; }
+        public long getMax() { return max; }
+        public double getMean() { return count == 0 ? 0 : (double) sum / count; }
+
+        // Method to find the value below which 'percent' of the recorded values fall
+        public long valueAtPercentile(double percent) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(highestValueOf(i), max);
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%.1fus p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                    count, getMean() / 1e3, valueAtPercentile(50) / 1e3, valueAtPercentile(99) / 1e3,
+                    valueAtPercentile(99.9) / 1e3, max / 1e3);
+        }
+    }
+}
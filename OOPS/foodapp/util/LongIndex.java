@@ -0,0 +1,101 @@
+package foodapp.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// PRIMITIVE HASH INDEX - long key -> long value, open addressing with linear probing
+// No boxing and no entry objects: two flat arrays, so millions of keys cost 32 bytes each and the GC sees
+// two arrays instead of millions of nodes. Writers must be serialized by the caller (one writer at a time);
+// readers never lock - each slot is published with a volatile write of its key after its value
+
+public class LongIndex {
+
+    private static final long EMPTY = 0; // Keys must be non-zero
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Table table; // Replaced as a whole on resize - readers keep using the one they loaded
+    private int size; // Writer only
+
+    // Default Constructor
+    public LongIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    // Parameterized Constructor - expected number of keys, avoids early resizes
+    public LongIndex(int expectedSize) {
+        table = new Table(tableSizeFor(expectedSize));
+    }
+
+    // Method to look up a key - O(1) expected, lock-free
+    public long get(long key, long missing) {
+        Table t = table;
+        int i = t.slot(key);
+        while (true) {
+            long k = t.keys.get(i); // Volatile read - the value below is at least as new as this key
+            if (k == key) return t.values.get(i);
+            if (k == EMPTY) return missing;
+            i = (i + 1) & t.mask;
+        }
+    }
+
+    // Method to add or replace a mapping - callers must not call put concurrently
+    public void put(long key, long value) {
+        if (key == EMPTY) throw new IllegalArgumentException("Key 0 is reserved");
+        Table t = table;
+        if ((size + 1) * 2 > t.keys.length()) t = resize(t); // Keep the load factor at or below 0.5
+        if (insert(t, key, value)) size++;
+    }
+
+    // Getter - number of keys
+    public int size() { return size; }
+
+    private static boolean insert(Table t, long key, long value) {
+        int i = t.slot(key);
+        while (true) {
+            long k = t.keys.get(i);
+            if (k == key) {
+                t.values.set(i, value);
+                return false;
+            }
+            if (k == EMPTY) {
+                t.values.set(i, value);
+                t.keys.set(i, key); // Publishes the slot
+                return true;
+            }
+            i = (i + 1) & t.mask;
+        }
+    }
+
+    private Table resize(Table old) {
+        Table bigger = new Table(old.keys.length() * 2);
+        for (int i = 0; i < old.keys.length(); i++) {
+            long k = old.keys.get(i);
+            if (k != EMPTY) insert(bigger, k, old.values.get(i));
+        }
+        table = bigger; // Volatile write - new readers see the complete copy
+        return bigger;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int n = MIN_CAPACITY;
+        while (n < expectedSize * 2) n <<= 1;
+        return n;
+    }
+
+    // 'static' nested class - one generation of the table
+    private static final class Table {
+        final AtomicLongArray keys;
+        final AtomicLongArray values;
+        final int mask;
+
+        Table(int capacity) {
+            keys = new AtomicLongArray(capacity);
+            values = new AtomicLongArray(capacity);
+            mask = capacity - 1;
+        }
+
+        int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L; // Fibonacci hashing spreads time-ordered ids
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
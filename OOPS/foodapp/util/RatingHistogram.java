@@ -0,0 +1,67 @@
+package foodapp.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// CONSTANT-MEMORY RATING AGGREGATE - five atomic counters, one per star value
+// Memory does not grow with the number of reviews and concurrent ratings never lose updates
+
+public class RatingHistogram {
+
+    private final AtomicLongArray counts = new AtomicLongArray(5); // counts[stars - 1]
+
+    // Method to record one rating (1-5)
+    public void record(int stars) {
+        if (stars < 1 || stars > 5)
+            throw new IllegalArgumentException("Rating must be 1-5");
+        counts.incrementAndGet(stars - 1); // Lock-free atomic increment
+    }
+
+    // Overloaded Method - record 'count' ratings of the same value at once (e.g. restored from a snapshot)
+    public void record(int stars, long count) {
+        if (stars < 1 || stars > 5)
+            throw new IllegalArgumentException("Rating must be 1-5");
+        if (count < 0)
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        counts.addAndGet(stars - 1, count);
+    }
+
+    // Method to count all ratings
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < 5; i++) total += counts.get(i);
+        return total;
+    }
+
+    // Method to compute the average - O(1), only five counters are read
+    public double average() {
+        long total = 0, sum = 0;
+        for (int i = 0; i < 5; i++) {
+            long c = counts.get(i);
+            total += c;
+            sum += c * (i + 1);
+        }
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    // Method to copy the distribution - index 0 holds the number of 1-star ratings
+    public long[] distribution() {
+        long[] copy = new long[5];
+        for (int i = 0; i < 5; i++) copy[i] = counts.get(i);
+        return copy;
+    }
+
+    // Method to find the star value at the given percentile (0-100), 0 if there are no ratings
+    public int percentile(double percent) {
+        long[] snapshot = distribution();
+        long total = 0;
+        for (long c : snapshot) total += c;
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(percent / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < 5; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(1, rank)) return i + 1;
+        }
+        return 5;
+    }
+}
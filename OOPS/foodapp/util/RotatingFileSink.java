@@ -0,0 +1,66 @@
+package foodapp.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// INTERFACE IMPLEMENTATION - EventLog.Sink that writes to a file and rotates it by size
+// app.log -> app.log.1 -> app.log.2 ... the oldest file beyond maxFiles is deleted
+
+public class RotatingFileSink implements EventLog.Sink {
+
+    private final Path file;
+    private final long maxBytes;
+    private final int maxFiles;
+    private BufferedWriter writer;
+    private long written;
+
+    // Parameterized Constructor - opens (or appends to) the active file
+    public RotatingFileSink(Path file, long maxBytes, int maxFiles) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+        open();
+    }
+
+    // Implementing method from EventLog.Sink interface - only ever called from the drainer thread
+    @Override
+    public void write(CharSequence line) throws IOException {
+        if (written >= maxBytes) rotate();
+        writer.append(line).append(System.lineSeparator());
+        written += line.length() + 1; // Approximate size - good enough for rotation
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void rotate() throws IOException {
+        writer.close();
+        Files.deleteIfExists(numbered(maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            if (Files.exists(numbered(i))) Files.move(numbered(i), numbered(i + 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(file, numbered(1), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private void open() throws IOException {
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        written = Files.size(file);
+    }
+
+    private Path numbered(int n) {
+        return file.resolveSibling(file.getFileName() + "." + n);
+    }
+}
@@ -0,0 +1,124 @@
+package foodapp.util;
+
+import foodapp.interfaces.IdGenerator;
+import java.util.concurrent.atomic.AtomicLong;
+
+// INTERFACE IMPLEMENTATION - Snowflake-style 64-bit ids ordered by creation time
+// Layout: [41 bits millis since EPOCH][12 bits sequence][10 bits node]
+// Each thread reserves a small block of ids at once, so the shared counter is touched once per block instead of once per id.
+// A block is used until it runs out or is MAX_LAG_MILLIS old - an id's timestamp may trail its creation by that much,
+// which range scans by time tolerate. Above 4096 ids per millisecond the timestamp runs slightly ahead of the clock instead of blocking the caller
+
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    // 'static final' constants - shared by all instances and never reassigned
+    public static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int TIME_SHIFT = NODE_BITS + SEQUENCE_BITS;
+    private static final long STEP = 1L << NODE_BITS; // Distance between two consecutive ids of the same node
+    private static final int BLOCK_SIZE = 64; // Ids reserved per thread at once
+    private static final long MAX_LAG_MILLIS = 10; // Oldest a block may get before its thread reserves a fresh one
+    private static final String DIGITS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ"; // Crockford base32 - keeps sort order
+    private static final char[] ALPHABET = DIGITS.toCharArray();
+
+    private final long nodeId;
+    private final AtomicLong highWater; // Next id that has not been handed to any thread yet
+    private volatile int floorVersion; // Bumped by advancePast - blocks reserved before it are dropped
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new); // Per-thread block, no sharing on the hot path
+
+    // Parameterized Constructor - Initialization with a node id (0-1023)
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, 0);
+    }
+
+    // Overloaded Constructor - lastIssuedId (e.g. recovered from the journal) keeps ids monotonic across restarts
+    // even if the wall clock moved backwards while the process was down
+    public SnowflakeIdGenerator(int nodeId, long lastIssuedId) {
+        if (nodeId < 0 || nodeId >= (1 << NODE_BITS))
+            throw new IllegalArgumentException("Node id must be between 0 and " + ((1 << NODE_BITS) - 1));
+        this.nodeId = nodeId;
+        this.highWater = new AtomicLong(Math.max(floorAfter(lastIssuedId), firstIdAt(System.currentTimeMillis()) | nodeId));
+    }
+
+    // Implementing method from IdGenerator interface
+    @Override
+    public long nextId() {
+        Block block = blocks.get();
+        long now = System.currentTimeMillis();
+        if (block.next == block.end || now - block.millis > MAX_LAG_MILLIS || block.version != floorVersion) reserve(block, now);
+        long id = block.next;
+        block.next += STEP;
+        return id;
+    }
+
+    // Method to continue after ids issued before a restart (e.g. OrderJournal.getLastOrderId), even if the wall
+    // clock moved backwards while the process was down - ids issued from now on are all larger
+    public void advancePast(long lastIssuedId) {
+        highWater.accumulateAndGet(floorAfter(lastIssuedId), Math::max);
+        floorVersion++; // Only startup code calls this - a lost increment would still change the value every thread sees
+    }
+
+    private long floorAfter(long lastIssuedId) {
+        return lastIssuedId <= 0 ? 0 : ((lastIssuedId | (STEP - 1)) + 1) | nodeId; // First id of this node after lastIssuedId
+    }
+
+    // Implementing method from IdGenerator interface
+    @Override
+    public long firstIdAt(long epochMillis) {
+        return Math.max(0, epochMillis - EPOCH) << TIME_SHIFT;
+    }
+
+    // Overriding the default method - fixed-width base32 so string order equals id order
+    @Override
+    public String format(long id) {
+        char[] out = new char[13]; // 13 x 5 bits covers 64 bits
+        for (int i = 12; i >= 0; i--) {
+            out[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5; // Unsigned shift
+        }
+        return new String(out);
+    }
+
+    // Overriding the default method - inverse of format(), case-insensitive
+    @Override
+    public long parse(String text) {
+        if (text.length() != 13) throw new NumberFormatException("Not an id: " + text);
+        long id = 0;
+        for (int i = 0; i < 13; i++) {
+            int digit = DIGITS.indexOf(Character.toUpperCase(text.charAt(i)));
+            if (digit < 0) throw new NumberFormatException("Not an id: " + text);
+            id = id << 5 | digit;
+        }
+        return id;
+    }
+
+    // 'static' utility methods to inspect ids
+    public static long timestampOf(long id) { return (id >>> TIME_SHIFT) + EPOCH; }
+    public static int nodeOf(long id) { return (int) (id & (STEP - 1)); }
+
+    // Method to reserve the next block from the shared counter - one CAS per BLOCK_SIZE ids
+    private void reserve(Block block, long now) {
+        long timeFloor = firstIdAt(now) | nodeId;
+        block.version = floorVersion; // Read before the counter - a concurrent advancePast forces another reserve
+        while (true) {
+            long current = highWater.get();
+            long start = Math.max(current, timeFloor); // Never go back, even if the clock does
+            long end = start + BLOCK_SIZE * STEP;
+            if (highWater.compareAndSet(current, end)) {
+                block.next = start;
+                block.end = end;
+                block.millis = now;
+                return;
+            }
+        }
+    }
+
+    // 'static' nested class - a thread's private range of ids
+    private static final class Block {
+        long next;
+        long end;
+        long millis; // When the block was reserved
+        int version;
+    }
+}
@@ -0,0 +1,40 @@
+package foodapp.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// RATE LIMITER - lock-free token bucket, stored as the single "theoretical arrival time" of the next token
+// (the GCRA form of a token bucket): no refill thread and no lock, one CAS per granted token.
+// A refused request is just a clock read and a volatile read - no write, so a flood of refusals
+// does not even contend on the cache line
+
+public class TokenBucket {
+
+    private final long nanosPerToken; // Refill interval
+    private final long burstNanos; // How far ahead of the clock the bucket may run = burst size x interval
+    private final AtomicLong nextFree; // Time at which the bucket would be full again
+
+    // Parameterized Constructor - 'perSecond' tokens refill each second, at most 'burst' can be taken at once
+    public TokenBucket(double perSecond, int burst) {
+        if (perSecond <= 0 || burst <= 0) throw new IllegalArgumentException("Rate and burst must be positive");
+        this.nanosPerToken = Math.max(1, Math.round(1e9 / perSecond));
+        this.burstNanos = nanosPerToken * burst;
+        this.nextFree = new AtomicLong(System.nanoTime()); // Starts full
+    }
+
+    // Method to take one token - false (without waiting) if the bucket is empty
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long free = nextFree.get();
+            long next = Math.max(free, now) + nanosPerToken; // An idle bucket refills, but only up to 'burst'
+            if (next - now > burstNanos) return false;
+            if (nextFree.compareAndSet(free, next)) return true;
+        }
+    }
+
+    // Getter - tokens that could be taken right now
+    public int getAvailable() {
+        long ahead = Math.max(0, nextFree.get() - System.nanoTime());
+        return (int) ((burstNanos - ahead) / nanosPerToken);
+    }
+}
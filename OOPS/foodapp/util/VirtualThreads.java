@@ -0,0 +1,28 @@
+package foodapp.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// UTILITY CLASS - 'final' with a private constructor, only 'static' methods
+// Creates an executor that runs each task on a virtual thread when the JVM supports it (Java 21+),
+// and falls back to daemon platform threads on older JVMs
+
+public final class VirtualThreads {
+
+    private VirtualThreads() { } // Private Constructor - prevents instantiation
+
+    // 'static' factory method - looked up reflectively so the code still compiles and runs on Java 17
+    public static ExecutorService newExecutor(String namePrefix) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) { // Method not present - older JVM
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newCachedThreadPool(task -> {
+                Thread t = new Thread(task, namePrefix + "-" + counter.incrementAndGet());
+                t.setDaemon(true); // Daemon threads never keep the JVM alive
+                return t;
+            });
+        }
+    }
+}
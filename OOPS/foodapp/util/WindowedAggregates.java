@@ -0,0 +1,101 @@
+package foodapp.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// TIME-BUCKETED COUNTERS - for every dense int key, a ring of fixed-width time buckets holding (count, amount)
+// Each bucket is tagged with the time slot it belongs to; a writer that lands on a bucket left over from an
+// older lap of the ring resets it first, so expiry costs nothing until a slot is reused.
+// Updates are O(1) (two atomic adds on a flat primitive array); a window query sums at most 'buckets' slots
+// of one key, independent of how many events were recorded
+
+public class WindowedAggregates {
+
+    private static final int KEYS_PER_BLOCK = 64; // Keys are stored in blocks so the table grows without copying
+    private static final int MAX_BLOCKS = 1 << 14; // Up to ~1M keys
+    private static final int STAMP = 0, COUNT = 1, AMOUNT = 2, FIELDS = 3;
+
+    private final int buckets;
+    private final long bucketMillis;
+    private final AtomicReferenceArray<AtomicLongArray> blocks = new AtomicReferenceArray<>(MAX_BLOCKS);
+
+    // Parameterized Constructor - e.g. (60, 60_000) is the last hour by minute, (48, 3_600_000) two days by hour
+    public WindowedAggregates(int buckets, long bucketMillis) {
+        this.buckets = buckets;
+        this.bucketMillis = bucketMillis;
+    }
+
+    // Method to record an event for a key at a time - events older than the ring are dropped
+    public void add(int key, long timeMillis, long count, long amount) {
+        long slot = timeMillis / bucketMillis;
+        AtomicLongArray block = block(key, true);
+        int base = offset(key, slot);
+        long stamp = block.get(base + STAMP);
+        if (stamp != slot + 1) { // Stamps store slot + 1 so that 0 means "never used"
+            if (stamp > slot + 1) return; // Bucket already reused for a newer slot
+            roll(block, base, slot + 1);
+        }
+        if (count != 0) block.getAndAdd(base + COUNT, count);
+        if (amount != 0) block.getAndAdd(base + AMOUNT, amount);
+    }
+
+    // Methods to total the last 'window' buckets (the current one included) of a key
+    public long sumCount(int key, long nowMillis, int window) { return sum(key, nowMillis, window, COUNT); }
+    public long sumAmount(int key, long nowMillis, int window) { return sum(key, nowMillis, window, AMOUNT); }
+
+    // Methods to read the last 'window' buckets of a key one by one, oldest first (tumbling-window series)
+    public long[] countSeries(int key, long nowMillis, int window) { return series(key, nowMillis, window, COUNT); }
+    public long[] amountSeries(int key, long nowMillis, int window) { return series(key, nowMillis, window, AMOUNT); }
+
+    private long sum(int key, long nowMillis, int window, int field) {
+        AtomicLongArray block = block(key, false);
+        if (block == null) return 0;
+        long now = nowMillis / bucketMillis;
+        long total = 0;
+        for (int i = 0; i < Math.min(window, buckets); i++) {
+            int base = offset(key, now - i);
+            if (block.get(base + STAMP) == now - i + 1) total += block.get(base + field);
+        }
+        return total;
+    }
+
+    private long[] series(int key, long nowMillis, int window, int field) {
+        int n = Math.min(window, buckets);
+        long[] values = new long[n];
+        AtomicLongArray block = block(key, false);
+        if (block == null) return values;
+        long now = nowMillis / bucketMillis;
+        for (int i = 0; i < n; i++) {
+            long slot = now - (n - 1) + i;
+            int base = offset(key, slot);
+            if (block.get(base + STAMP) == slot + 1) values[i] = block.get(base + field);
+        }
+        return values;
+    }
+
+    // Reset a stale bucket - zeroed before the new stamp is published, so lock-free writers that
+    // see the new stamp always add to a clean bucket
+    private static void roll(AtomicLongArray block, int base, long stamp) {
+        synchronized (block) {
+            if (block.get(base + STAMP) >= stamp) return; // Another writer rolled it first
+            block.set(base + COUNT, 0);
+            block.set(base + AMOUNT, 0);
+            block.set(base + STAMP, stamp);
+        }
+    }
+
+    private int offset(int key, long slot) {
+        int bucket = (int) Math.floorMod(slot, (long) buckets);
+        return ((key % KEYS_PER_BLOCK) * buckets + bucket) * FIELDS;
+    }
+
+    private AtomicLongArray block(int key, boolean create) {
+        int index = key / KEYS_PER_BLOCK;
+        AtomicLongArray block = blocks.get(index);
+        if (block == null && create) {
+            blocks.compareAndSet(index, null, new AtomicLongArray(KEYS_PER_BLOCK * buckets * FIELDS)); // Loser's array is dropped
+            block = blocks.get(index);
+        }
+        return block;
+    }
+}